@@ -0,0 +1,210 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.catalog.SyntheticCatalog;
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Product page benchmark fixtures, generated from a {@link SyntheticCatalog}. The same seed always produces the same
+ * products, so runs can be compared.
+ */
+final class BenchmarkProducts {
+
+    private BenchmarkProducts() {
+    }
+
+    /**
+     * Creates a product whose similar products are every product of a generated catalog.
+     *
+     * @param similarProducts the number of similar products
+     * @param seed the random seed
+     * @return the product
+     */
+    static ProductV2 withSimilarProducts(int similarProducts, long seed) {
+        SyntheticCatalog catalog = SyntheticCatalog.builder()
+            .products(similarProducts)
+            .seed(seed)
+            .similarProducts(0, 0)
+            .images(0, 0)
+            .buyingOptions(0, 0)
+            .build();
+        return new ListingProduct(new ArrayList<>(catalog.products()));
+    }
+
+    /**
+     * Creates products that hold their price and benefit as fields, like products deserialized from a service
+     * response, rather than as catalog views that create a BigDecimal on every call.
+     *
+     * @param products the number of products
+     * @param seed the random seed
+     * @return the products, in relevance order
+     */
+    static List<ProductV2> detached(int products, long seed) {
+        SyntheticCatalog catalog = SyntheticCatalog.builder()
+            .products(products)
+            .seed(seed)
+            .similarProducts(0, 0)
+            .images(0, 0)
+            .buyingOptions(0, 0)
+            .build();
+        List<ProductV2> detached = new ArrayList<>(products);
+        for (ProductV2 product : catalog.products()) {
+            detached.add(new DetachedProduct(product));
+        }
+        return detached;
+    }
+
+    /**
+     * Creates a catalog of products that each have the given number of images.
+     *
+     * @param products the number of products
+     * @param images the number of images per product
+     * @param seed the random seed
+     * @return the catalog
+     */
+    static SyntheticCatalog withImages(int products, int images, long seed) {
+        return SyntheticCatalog.builder()
+            .products(products)
+            .seed(seed)
+            .similarProducts(0, 0)
+            .images(images, images)
+            .build();
+    }
+
+    /**
+     * A copy of a product's sortable and filterable fields.
+     */
+    private static final class DetachedProduct implements ProductV2 {
+        private final String asin;
+        private final BigDecimal price;
+        private final BigDecimal benefit;
+        private final List<ShippingProgramEnum> shippingPrograms;
+        private final boolean valid;
+
+        DetachedProduct(ProductV2 product) {
+            this.asin = product.asin();
+            this.price = product.getPrice();
+            this.benefit = product.getTotalBenefitAmount();
+            this.shippingPrograms = product.getShippingPrograms();
+            this.valid = product.isValid();
+        }
+
+        @Override
+        public String internalDatapathEntity() {
+            return null;
+        }
+
+        @Override
+        public String title() {
+            return asin;
+        }
+
+        @Override
+        public List<BuyingOption> buyingOptions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String asin() {
+            return asin;
+        }
+
+        @Override
+        public Optional<ProductImagesV2> productImages() {
+            return Optional.empty();
+        }
+
+        @Override
+        public BigDecimal getTotalBenefitAmount() {
+            return benefit;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        @Override
+        public List<ProductV2> getSimilarProducts() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<ShippingProgramEnum> getShippingPrograms() {
+            return shippingPrograms;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+    }
+
+    /**
+     * A product page with an arbitrarily long similar products list, which a catalog's own products don't have.
+     */
+    private static final class ListingProduct implements ProductV2 {
+        private final List<ProductV2> similarProducts;
+
+        ListingProduct(List<ProductV2> similarProducts) {
+            this.similarProducts = similarProducts;
+        }
+
+        @Override
+        public String internalDatapathEntity() {
+            return null;
+        }
+
+        @Override
+        public String title() {
+            return "Listing";
+        }
+
+        @Override
+        public List<BuyingOption> buyingOptions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String asin() {
+            return "BLISTING00";
+        }
+
+        @Override
+        public Optional<ProductImagesV2> productImages() {
+            return Optional.empty();
+        }
+
+        @Override
+        public BigDecimal getTotalBenefitAmount() {
+            return BigDecimal.ZERO;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return BigDecimal.TEN;
+        }
+
+        @Override
+        public List<ProductV2> getSimilarProducts() {
+            return similarProducts;
+        }
+
+        @Override
+        public List<ShippingProgramEnum> getShippingPrograms() {
+            return Collections.singletonList(ShippingProgramEnum.PRIME);
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+    }
+}
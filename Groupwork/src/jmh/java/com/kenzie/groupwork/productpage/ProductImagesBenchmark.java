@@ -0,0 +1,72 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.catalog.SyntheticCatalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ProductPage#extractMainImageUrl} and {@link ProductPage#extractLookImageUrl}, both on a new page,
+ * which renders every URL, and on a page that has already rendered them. Each invocation moves on to the next
+ * product of a generated catalog, so image variants differ from call to call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductImagesBenchmark {
+
+    private static final int PRODUCTS = 1024;
+
+    @Param({"1", "10", "50"})
+    public int images;
+
+    @Param({"160", "500"})
+    public int longestDimension;
+
+    private SyntheticCatalog catalog;
+    private ProductPage[] productPages;
+    private int next;
+
+    @Setup
+    public void setup() {
+        catalog = BenchmarkProducts.withImages(PRODUCTS, images, images);
+        productPages = new ProductPage[PRODUCTS];
+        for (int id = 0; id < PRODUCTS; id++) {
+            productPages[id] = new ProductPage(catalog.product(id));
+        }
+    }
+
+    @Benchmark
+    public Optional<String> extractMainImageUrlFirstRender() {
+        return new ProductPage(catalog.product(nextId())).extractMainImageUrl(longestDimension);
+    }
+
+    @Benchmark
+    public Optional<String> extractMainImageUrlRepeat() {
+        return productPages[nextId()].extractMainImageUrl(longestDimension);
+    }
+
+    @Benchmark
+    public Optional<String> extractLookImageUrlFirstRender() {
+        return new ProductPage(catalog.product(nextId())).extractLookImageUrl(longestDimension);
+    }
+
+    @Benchmark
+    public Optional<String> extractLookImageUrlRepeat() {
+        return productPages[nextId()].extractLookImageUrl(longestDimension);
+    }
+
+    private int nextId() {
+        next = (next + 1) & (PRODUCTS - 1);
+        return next;
+    }
+}
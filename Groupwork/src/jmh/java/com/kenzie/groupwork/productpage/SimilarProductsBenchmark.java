@@ -0,0 +1,78 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ProductPage#getSimilarProducts} for every sort order, price range and Prime filter, over similar
+ * product lists from 10 to 100,000 candidates.
+ *
+ * <code>firstCall</code> uses a new ProductPage every time, so it includes building the similar products index;
+ * <code>repeatCall</code> reuses one page the way a cached page is rendered again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimilarProductsBenchmark {
+
+    private static final PrimeOption PRIME_ONLY =
+        new PrimeOption(Arrays.asList(ShippingProgramEnum.PRIME, ShippingProgramEnum.PRIMENOW));
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int candidates;
+
+    @Param({"RELEVANCE", "REWARD_LOW_TO_HIGH", "REWARD_HIGH_TO_LOW", "PRICE_LOW_TO_HIGH", "PRICE_HIGH_TO_LOW"})
+    public SortByEnum sortBy;
+
+    @Param({"ANY", "PRICE_0_TO_25", "PRICE_25_TO_50", "PRICE_50_TO_100", "PRICE_100_TO_200", "PRICE_200_TO_ANY"})
+    public PriceRangeEnum priceRange;
+
+    @Param({"ANY_SHIPPING", "PRIME_ONLY"})
+    public String primeFilter;
+
+    private ProductV2 product;
+    private ProductPage productPage;
+    private PriceRangeOption priceRangeOption;
+    private PrimeOption primeOption;
+
+    @Setup
+    public void setup() {
+        product = BenchmarkProducts.withSimilarProducts(candidates, candidates);
+        productPage = new ProductPage(product);
+        priceRangeOption = new PriceRangeOption(priceRange);
+        primeOption = "PRIME_ONLY".equals(primeFilter) ? PRIME_ONLY : PrimeOption.ANY_SHIPPING;
+    }
+
+    @Benchmark
+    public List<ProductV2> firstCall() {
+        return new ProductPage(product).getSimilarProducts(sortBy, priceRangeOption, primeOption);
+    }
+
+    @Benchmark
+    public List<ProductV2> repeatCall() {
+        return productPage.getSimilarProducts(sortBy, priceRangeOption, primeOption);
+    }
+
+    @Benchmark
+    public List<ProductV2> repeatCallFirstPage() {
+        return productPage.getSimilarProducts(sortBy, priceRangeOption, primeOption, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,56 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sorting similar products with the comparator {@link SortKeys} keeps per {@link SortByEnum} against
+ * {@link SortKeys#sorted(List, SortByEnum)}, which reads each product's key once and sorts positions by primitive keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SortKeysBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int candidates;
+
+    @Param({"RELEVANCE", "REWARD_HIGH_TO_LOW", "PRICE_LOW_TO_HIGH"})
+    public SortByEnum sortBy;
+
+    private List<ProductV2> products;
+
+    @Setup
+    public void setup() {
+        products = BenchmarkProducts.detached(candidates, candidates);
+    }
+
+    @Benchmark
+    public List<ProductV2> comparatorMap() {
+        List<ProductV2> sorted = new ArrayList<>(products);
+        Comparator<ProductV2> comparator = SortKeys.comparator(sortBy);
+        if (comparator != null) {
+            sorted.sort(comparator);
+        }
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ProductV2> sortKeys() {
+        return SortKeys.sorted(products, sortBy);
+    }
+}
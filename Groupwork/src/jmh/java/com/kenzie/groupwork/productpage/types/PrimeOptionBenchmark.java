@@ -0,0 +1,94 @@
+package com.kenzie.groupwork.productpage.types;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Prime filter as getSimilarProducts used to apply it (List.contains inside a loop over each product's
+ * shipping programs) with the EnumSet-backed {@link PrimeOption#matchesAny} and the precomputed bitmask AND.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrimeOptionBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+
+    @Param({"ANY_SHIPPING", "PRIME_ONLY"})
+    public String option;
+
+    private PrimeOption primeOption;
+    private List<ShippingProgramEnum> legacySupportedShipping;
+    private List<List<ShippingProgramEnum>> productShipping;
+    private int[] productMasks;
+
+    @Setup
+    public void setup() {
+        legacySupportedShipping = "ANY_SHIPPING".equals(option) ?
+            Arrays.asList(ShippingProgramEnum.values()) :
+            Arrays.asList(ShippingProgramEnum.PRIME, ShippingProgramEnum.PRIMENOW);
+        primeOption = new PrimeOption(legacySupportedShipping);
+
+        Random random = new Random(PRODUCTS);
+        ShippingProgramEnum[] programs = ShippingProgramEnum.values();
+        productShipping = new ArrayList<>(PRODUCTS);
+        productMasks = new int[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            List<ShippingProgramEnum> shipping = new ArrayList<>();
+            int count = 1 + random.nextInt(3);
+            for (int j = 0; j < count; j++) {
+                shipping.add(programs[random.nextInt(programs.length)]);
+            }
+            productShipping.add(shipping);
+            productMasks[i] = ShippingProgramEnum.maskOf(shipping);
+        }
+    }
+
+    @Benchmark
+    public int listContainsPerProgram() {
+        int matches = 0;
+        for (List<ShippingProgramEnum> shipping : productShipping) {
+            for (ShippingProgramEnum program : shipping) {
+                if (legacySupportedShipping.contains(program)) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int matchesAny() {
+        int matches = 0;
+        for (List<ShippingProgramEnum> shipping : productShipping) {
+            if (primeOption.matchesAny(shipping)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int precomputedMask() {
+        int matches = 0;
+        for (int mask : productMasks) {
+            if (primeOption.matchesMask(mask)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kenzie.groupwork.productpage.types;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StyledMedia.Builder#build()} for the renderings the product page uses, against rendering the same
+ * URL without building a StyledMedia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StyledMediaBenchmark {
+
+    @Param({"160", "500", "1500"})
+    public int longestDimension;
+
+    private StyledMedia media;
+
+    @Setup
+    public void setup() {
+        media = new StyledMedia.Builder(1200, 900).build();
+    }
+
+    @Benchmark
+    public StyledMedia buildPlain() {
+        return new StyledMedia.Builder(1200, 900).build();
+    }
+
+    @Benchmark
+    public StyledMedia buildScaledToLongest() {
+        return media.styleBuilder().scaleToLongest(longestDimension).build();
+    }
+
+    @Benchmark
+    public StyledMedia buildCroppedAndScaled() {
+        return media.styleBuilder().crop(10, 10, 800, 800).scaleToSquare(longestDimension).build();
+    }
+
+    @Benchmark
+    public int renderUrlScaledToLongest() {
+        return media.styleBuilder().scaleToLongest(longestDimension).renderUrl().length();
+    }
+}
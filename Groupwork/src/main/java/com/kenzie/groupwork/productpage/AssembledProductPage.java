@@ -0,0 +1,100 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The pieces of a detail page assembled by {@link AsyncProductPageAssembler}.
+ *
+ * A piece that failed or did not finish within the assembler's timeout holds its empty fallback value (an empty
+ * Optional or an empty list) and is listed in {@link #getMissingParts()}, so the page can still be rendered without it.
+ */
+public final class AssembledProductPage {
+
+    private final Optional<ProductV2.BuyingOption> firstBuyingOption;
+    private final Optional<String> mainImageUrl;
+    private final Optional<String> lookImageUrl;
+    private final List<ProductV2> similarProducts;
+    private final Set<ProductPagePart> missingParts;
+
+    /**
+     * Constructor.
+     *
+     * @param firstBuyingOption the winning buying option
+     * @param mainImageUrl the main image URL
+     * @param lookImageUrl the LOOK image URL
+     * @param similarProducts the similar products to display
+     * @param missingParts the pieces that fell back to their empty value
+     */
+    AssembledProductPage(Optional<ProductV2.BuyingOption> firstBuyingOption,
+                         Optional<String> mainImageUrl,
+                         Optional<String> lookImageUrl,
+                         List<ProductV2> similarProducts,
+                         Set<ProductPagePart> missingParts) {
+        this.firstBuyingOption = firstBuyingOption;
+        this.mainImageUrl = mainImageUrl;
+        this.lookImageUrl = lookImageUrl;
+        this.similarProducts = Collections.unmodifiableList(similarProducts);
+        this.missingParts = missingParts.isEmpty() ?
+            Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(missingParts));
+    }
+
+    /**
+     * Returns the winning buying option.
+     *
+     * @return An Optional with the winning BuyingOption, or empty if none or if it was not computed in time.
+     */
+    public Optional<ProductV2.BuyingOption> getFirstBuyingOption() {
+        return firstBuyingOption;
+    }
+
+    /**
+     * Returns the main image URL.
+     *
+     * @return Optional containing the image URL, or empty if no image exists or it was not computed in time.
+     */
+    public Optional<String> getMainImageUrl() {
+        return mainImageUrl;
+    }
+
+    /**
+     * Returns the LOOK image URL.
+     *
+     * @return Optional containing the image URL, or empty if no image exists or it was not computed in time.
+     */
+    public Optional<String> getLookImageUrl() {
+        return lookImageUrl;
+    }
+
+    /**
+     * Returns the similar products to display.
+     *
+     * @return an unmodifiable list of products, empty if they were not computed in time
+     */
+    public List<ProductV2> getSimilarProducts() {
+        return similarProducts;
+    }
+
+    /**
+     * Returns the pieces that failed or timed out and hold their fallback value.
+     *
+     * @return an unmodifiable set of missing pieces, empty if the page is complete
+     */
+    public Set<ProductPagePart> getMissingParts() {
+        return missingParts;
+    }
+
+    /**
+     * Returns whether every piece was computed.
+     *
+     * @return true if no piece fell back
+     */
+    public boolean isComplete() {
+        return missingParts.isEmpty();
+    }
+}
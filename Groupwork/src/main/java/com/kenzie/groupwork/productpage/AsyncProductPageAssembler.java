@@ -0,0 +1,190 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Computes the independent pieces of a detail page concurrently instead of one after another on the request thread.
+ *
+ * Each piece runs as its own task on the given executor and is given the same timeout, so the assembled page is
+ * ready no later than the timeout after it was requested. A piece that throws, times out, or is rejected by a full
+ * executor is replaced with its empty value and reported in {@link AssembledProductPage#getMissingParts()}. A timed
+ * out piece keeps running on the executor; only its result is dropped.
+ *
+ * The pieces share the page's derived state, which is safe to use from several threads at once.
+ */
+public class AsyncProductPageAssembler {
+
+    /**
+     * Default time the assembled page waits for its slowest piece.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(200);
+
+    private final Executor executor;
+    private final long timeoutNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param executor the executor to run page pieces on. Should be bounded, such as one from
+     *                 {@link #newBoundedExecutor(int, int)}.
+     * @param timeout how long to wait for each piece before falling back to its empty value
+     */
+    public AsyncProductPageAssembler(Executor executor, Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive, got: " + timeout);
+        }
+        this.executor = Objects.requireNonNull(executor, "executor is required");
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Creates a fixed-size executor with a bounded queue for page pieces. Pieces submitted while the queue is full
+     * are rejected, and so fall back to their empty value, instead of piling up behind slow ones.
+     *
+     * @param threads the number of threads
+     * @param queueCapacity the number of pieces that may wait for a thread
+     * @return a new executor; the caller is responsible for shutting it down
+     */
+    public static ExecutorService newBoundedExecutor(int threads, int queueCapacity) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be > 0, got: " + threads);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be > 0, got: " + queueCapacity);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "product-page-assembly-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Computes every piece of a detail page concurrently.
+     *
+     * @param productPage the page to assemble
+     * @param longestDimension the size of the longest dimension of the images
+     * @param sortBy sort by parameter for the similar products
+     * @param priceRange price range filter for the similar products
+     * @param primeOption prime filter for the similar products
+     * @return a future completed with the assembled page, never exceptionally, within the timeout
+     */
+    public CompletableFuture<AssembledProductPage> assemble(ProductPage productPage,
+                                                           Integer longestDimension,
+                                                           SortByEnum sortBy,
+                                                           PriceRangeOption priceRange,
+                                                           PrimeOption primeOption) {
+        CompletableFuture<Optional<ProductV2.BuyingOption>> firstBuyingOption = getFirstBuyingOption(productPage);
+        CompletableFuture<Optional<String>> mainImageUrl = extractMainImageUrl(productPage, longestDimension);
+        CompletableFuture<Optional<String>> lookImageUrl = extractLookImageUrl(productPage, longestDimension);
+        CompletableFuture<List<ProductV2>> similarProducts =
+            getSimilarProducts(productPage, sortBy, priceRange, primeOption);
+
+        return CompletableFuture.allOf(firstBuyingOption, mainImageUrl, lookImageUrl, similarProducts)
+            .handle((ignored, error) -> {
+                Set<ProductPagePart> missingParts = EnumSet.noneOf(ProductPagePart.class);
+                return new AssembledProductPage(
+                    valueOrFallback(firstBuyingOption, Optional.empty(), ProductPagePart.FIRST_BUYING_OPTION,
+                        missingParts),
+                    valueOrFallback(mainImageUrl, Optional.empty(), ProductPagePart.MAIN_IMAGE_URL, missingParts),
+                    valueOrFallback(lookImageUrl, Optional.empty(), ProductPagePart.LOOK_IMAGE_URL, missingParts),
+                    valueOrFallback(similarProducts, Collections.emptyList(), ProductPagePart.SIMILAR_PRODUCTS,
+                        missingParts),
+                    missingParts);
+            });
+    }
+
+    /**
+     * Returns the winning buying option, computed on the executor.
+     *
+     * @param productPage the page
+     * @return a future completed with {@link ProductPage#getFirstBuyingOption()}, or exceptionally on timeout
+     */
+    public CompletableFuture<Optional<ProductV2.BuyingOption>> getFirstBuyingOption(ProductPage productPage) {
+        return submit(productPage::getFirstBuyingOption);
+    }
+
+    /**
+     * Returns the main image URL, computed on the executor.
+     *
+     * @param productPage the page
+     * @param longestDimension the size of the longest dimension of the image
+     * @return a future completed with {@link ProductPage#extractMainImageUrl(Integer)}, or exceptionally on timeout
+     */
+    public CompletableFuture<Optional<String>> extractMainImageUrl(ProductPage productPage, Integer longestDimension) {
+        return submit(() -> productPage.extractMainImageUrl(longestDimension));
+    }
+
+    /**
+     * Returns the LOOK image URL, computed on the executor.
+     *
+     * @param productPage the page
+     * @param longestDimension the size of the longest dimension of the image
+     * @return a future completed with {@link ProductPage#extractLookImageUrl(Integer)}, or exceptionally on timeout
+     */
+    public CompletableFuture<Optional<String>> extractLookImageUrl(ProductPage productPage, Integer longestDimension) {
+        return submit(() -> productPage.extractLookImageUrl(longestDimension));
+    }
+
+    /**
+     * Returns the similar products to display, computed on the executor.
+     *
+     * @param productPage the page
+     * @param sortBy sort by parameter
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @return a future completed with the similar products, or exceptionally on timeout
+     */
+    public CompletableFuture<List<ProductV2>> getSimilarProducts(ProductPage productPage,
+                                                                 SortByEnum sortBy,
+                                                                 PriceRangeOption priceRange,
+                                                                 PrimeOption primeOption) {
+        return submit(() -> productPage.getSimilarProducts(sortBy, priceRange, primeOption));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> piece) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(piece, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static <T> T valueOrFallback(CompletableFuture<T> piece,
+                                         T fallback,
+                                         ProductPagePart part,
+                                         Set<ProductPagePart> missingParts) {
+        if (piece.isCompletedExceptionally()) {
+            missingParts.add(part);
+            return fallback;
+        }
+        T value = piece.join();
+        return value == null ? fallback : value;
+    }
+}
@@ -0,0 +1,140 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * What the buy box needs from a product's buying options, worked out in one pass and kept with the product page.
+ *
+ * The winning option is the first one AAPI returns. Cheapest options are picked per
+ * {@link ProductV2.BuyingOption#type()} ("NEW", "USED", ...); options without a price or type are left out of that
+ * comparison, and ties go to the option listed first. An option offers free returns when it has a non-blank free
+ * returns policy.
+ */
+public final class BuyingOptionSummary {
+
+    private static final BuyingOptionSummary EMPTY = new BuyingOptionSummary(Optional.empty(),
+        Collections.emptyMap(), Collections.emptyList(), Collections.emptyMap());
+
+    private final Optional<ProductV2.BuyingOption> winner;
+    private final Map<String, ProductV2.BuyingOption> cheapestByType;
+    private final List<ProductV2.BuyingOption> freeReturnsOptions;
+    private final Map<String, List<ProductV2.BuyingOption>> optionsByMerchant;
+
+    private BuyingOptionSummary(Optional<ProductV2.BuyingOption> winner,
+                                Map<String, ProductV2.BuyingOption> cheapestByType,
+                                List<ProductV2.BuyingOption> freeReturnsOptions,
+                                Map<String, List<ProductV2.BuyingOption>> optionsByMerchant) {
+        this.winner = winner;
+        this.cheapestByType = cheapestByType;
+        this.freeReturnsOptions = freeReturnsOptions;
+        this.optionsByMerchant = optionsByMerchant;
+    }
+
+    /**
+     * Summarizes a product's buying options.
+     *
+     * @param buyingOptions the buying options, in the order AAPI ranks them. Null options are skipped. May be null.
+     * @return the summary
+     */
+    public static BuyingOptionSummary of(List<ProductV2.BuyingOption> buyingOptions) {
+        if (buyingOptions == null) {
+            return EMPTY;
+        }
+        Optional<ProductV2.BuyingOption> winner = buyingOptions.stream()
+            .filter(Objects::nonNull)
+            .findFirst();
+        Map<String, ProductV2.BuyingOption> cheapestByType = new LinkedHashMap<>();
+        List<ProductV2.BuyingOption> freeReturnsOptions = new ArrayList<>();
+        Map<String, List<ProductV2.BuyingOption>> optionsByMerchant = new LinkedHashMap<>();
+        for (ProductV2.BuyingOption buyingOption : buyingOptions) {
+            if (buyingOption == null) {
+                continue;
+            }
+            String type = buyingOption.type();
+            if (type != null && buyingOption.price() != null) {
+                ProductV2.BuyingOption cheapest = cheapestByType.get(type);
+                if (cheapest == null || buyingOption.price().compareTo(cheapest.price()) < 0) {
+                    cheapestByType.put(type, buyingOption);
+                }
+            }
+            if (StringUtils.isNotBlank(buyingOption.freeReturnsPolicy())) {
+                freeReturnsOptions.add(buyingOption);
+            }
+            if (buyingOption.merchant() != null) {
+                optionsByMerchant.computeIfAbsent(buyingOption.merchant(), ignored -> new ArrayList<>(1))
+                    .add(buyingOption);
+            }
+        }
+        optionsByMerchant.replaceAll((merchant, options) -> Collections.unmodifiableList(options));
+        return new BuyingOptionSummary(winner,
+            Collections.unmodifiableMap(cheapestByType),
+            Collections.unmodifiableList(freeReturnsOptions),
+            Collections.unmodifiableMap(optionsByMerchant));
+    }
+
+    /**
+     * Returns the winning buying option, the one shown first in the buy box.
+     *
+     * @return An Optional with the winning BuyingOption, or empty if none.
+     */
+    public Optional<ProductV2.BuyingOption> getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the cheapest buying option of a type.
+     *
+     * @param type the buying option type, such as "NEW" or "USED"
+     * @return An Optional with the cheapest BuyingOption of that type, or empty if there is none with a price.
+     */
+    public Optional<ProductV2.BuyingOption> getCheapest(String type) {
+        return Optional.ofNullable(cheapestByType.get(type));
+    }
+
+    /**
+     * Returns the cheapest buying option of every type.
+     *
+     * @return an unmodifiable map of type to its cheapest option, in the order the types first appear
+     */
+    public Map<String, ProductV2.BuyingOption> getCheapestByType() {
+        return cheapestByType;
+    }
+
+    /**
+     * Returns the buying options that come with free returns.
+     *
+     * @return an unmodifiable list of options, in their original order
+     */
+    public List<ProductV2.BuyingOption> getFreeReturnsOptions() {
+        return freeReturnsOptions;
+    }
+
+    /**
+     * Returns the buying options offered by a merchant.
+     *
+     * @param merchant the merchant
+     * @return an unmodifiable list of that merchant's options in their original order, empty if it has none
+     */
+    public List<ProductV2.BuyingOption> getOptionsByMerchant(String merchant) {
+        return optionsByMerchant.getOrDefault(merchant, Collections.emptyList());
+    }
+
+    /**
+     * Returns the buying options of every merchant.
+     *
+     * @return an unmodifiable map of merchant to its options, in the order the merchants first appear
+     */
+    public Map<String, List<ProductV2.BuyingOption>> getOptionsByMerchant() {
+        return optionsByMerchant;
+    }
+}
@@ -0,0 +1,539 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceCents;
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Column-oriented store of products and their similar products.
+ *
+ * Instead of one object graph per product (BigDecimal price and benefit, a List of shipping programs, ...), every
+ * attribute the product page filters and sorts on is kept in its own primitive array indexed by product id: price and
+ * benefit in cents, a shipping program bitmask, a validity bit, and an index into a table of distinct ASINs. Similar
+ * products are kept as adjacency arrays of product ids.
+ *
+ * {@link #product(int)} returns a small {@link ProductV2} view over those columns. When a {@link ProductPage} is
+ * created for such a view, its similar products index is built straight from the columns.
+ *
+ * Titles, buying options and images are not stored in columns; they come from an optional {@link Details} source.
+ */
+public final class ColumnarProductStore {
+
+    private static final List<List<ShippingProgramEnum>> SHIPPING_PROGRAMS_BY_MASK = createShippingProgramsByMask();
+    private static final int ALL_SHIPPING_PROGRAMS = SHIPPING_PROGRAMS_BY_MASK.size() - 1;
+
+    private final int size;
+    private final long[] priceCents;
+    private final long[] benefitCents;
+    private final int[] shippingMasks;
+    private final BitSet valid;
+    private final int[] asinIds;
+    private final byte[] asinBytes;
+    private final int[] asinOffsets;
+    private final int[] similarOffsets;
+    private final int[] similarIds;
+    private final Details details;
+
+    private ColumnarProductStore(Builder builder) {
+        this.size = builder.size;
+        this.priceCents = Arrays.copyOf(builder.priceCents, size);
+        this.benefitCents = Arrays.copyOf(builder.benefitCents, size);
+        this.shippingMasks = Arrays.copyOf(builder.shippingMasks, size);
+        this.valid = (BitSet) builder.valid.clone();
+        this.asinIds = Arrays.copyOf(builder.asinIds, size);
+        this.asinBytes = Arrays.copyOf(builder.asinBytes, builder.asinBytesSize);
+        this.asinOffsets = Arrays.copyOf(builder.asinOffsets, builder.asinTable.size() + 1);
+        this.details = builder.details;
+
+        similarOffsets = new int[size + 1];
+        for (int id = 0; id < size; id++) {
+            int[] similar = id < builder.similar.size() ? builder.similar.get(id) : null;
+            similarOffsets[id + 1] = similarOffsets[id] + (similar == null ? 0 : similar.length);
+        }
+        similarIds = new int[similarOffsets[size]];
+        for (int id = 0; id < size && id < builder.similar.size(); id++) {
+            int[] similar = builder.similar.get(id);
+            if (similar != null) {
+                System.arraycopy(similar, 0, similarIds, similarOffsets[id], similar.length);
+            }
+        }
+    }
+
+    /**
+     * Returns a builder for a store.
+     *
+     * @return an empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Copies a product and its similar products into a new store. The product gets id 0 and its similar products
+     * get ids from 1, in their original order; null similar products are left out.
+     *
+     * @param product the product to copy
+     * @return the store
+     */
+    public static ColumnarProductStore copyOf(ProductV2 product) {
+        Builder builder = builder();
+        int productId = builder.add(product);
+        List<ProductV2> similarProducts = product.getSimilarProducts();
+        if (similarProducts != null) {
+            int[] similarIds = new int[similarProducts.size()];
+            int count = 0;
+            for (ProductV2 similarProduct : similarProducts) {
+                if (similarProduct != null) {
+                    similarIds[count++] = builder.add(similarProduct);
+                }
+            }
+            builder.similarProducts(productId, Arrays.copyOf(similarIds, count));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of products in this store.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct ASINs in this store.
+     *
+     * @return the number of distinct ASINs
+     */
+    public int distinctAsins() {
+        return asinOffsets.length - 1;
+    }
+
+    /**
+     * Returns a view of one product.
+     *
+     * @param id the product id, from 0 to <code>size() - 1</code>
+     * @return the product
+     */
+    public ProductV2 product(int id) {
+        Objects.checkIndex(id, size);
+        return new StoreProduct(this, id);
+    }
+
+    /**
+     * Returns the store and id behind a product, if it is a view of a store.
+     *
+     * @param product the product
+     * @return the product's id, or -1 if the product is not a view of this store
+     */
+    public int idOf(ProductV2 product) {
+        if (product instanceof StoreProduct && ((StoreProduct) product).store == this) {
+            return ((StoreProduct) product).id;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the ASIN of a product.
+     *
+     * @param id the product id
+     * @return the ASIN
+     */
+    public String asin(int id) {
+        int asinId = asinIds[id];
+        return new String(asinBytes, asinOffsets[asinId], asinOffsets[asinId + 1] - asinOffsets[asinId],
+            StandardCharsets.UTF_8);
+    }
+
+    long priceCents(int id) {
+        return priceCents[id];
+    }
+
+    long benefitCents(int id) {
+        return benefitCents[id];
+    }
+
+    int shippingMask(int id) {
+        return shippingMasks[id];
+    }
+
+    boolean isValid(int id) {
+        return valid.get(id);
+    }
+
+    int similarStart(int id) {
+        return similarOffsets[id];
+    }
+
+    int similarEnd(int id) {
+        return similarOffsets[id + 1];
+    }
+
+    int similarId(int edge) {
+        return similarIds[edge];
+    }
+
+    /**
+     * Returns the shipping programs in a shipping bitmask, as a shared unmodifiable list.
+     *
+     * @param shippingMask a bitmask of {@link ShippingProgramEnum#mask()} values
+     * @return the shipping programs, in declaration order
+     */
+    static List<ShippingProgramEnum> shippingPrograms(int shippingMask) {
+        return SHIPPING_PROGRAMS_BY_MASK.get(shippingMask);
+    }
+
+    /**
+     * Source of the product attributes that are not stored in columns.
+     */
+    public interface Details {
+
+        /**
+         * Returns the title of a product.
+         *
+         * @param id the product id
+         * @return the title
+         */
+        default String title(int id) {
+            return null;
+        }
+
+        /**
+         * Returns the internal datapath entity of a product.
+         *
+         * @param id the product id
+         * @return the datapath entity
+         */
+        default String internalDatapathEntity(int id) {
+            return null;
+        }
+
+        /**
+         * Returns the buying options of a product.
+         *
+         * @param id the product id
+         * @return the buying options
+         */
+        default List<ProductV2.BuyingOption> buyingOptions(int id) {
+            return Collections.emptyList();
+        }
+
+        /**
+         * Returns the images of a product.
+         *
+         * @param id the product id
+         * @return Optional containing the images, or empty if the product has none
+         */
+        default Optional<ProductImagesV2> productImages(int id) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Builder for {@link ColumnarProductStore}. Products are given ids in the order they are added, from 0.
+     */
+    public static final class Builder {
+        private static final Details NO_DETAILS = new Details() { };
+
+        private int size;
+        private long[] priceCents = new long[16];
+        private long[] benefitCents = new long[16];
+        private int[] shippingMasks = new int[16];
+        private final BitSet valid = new BitSet();
+        private int[] asinIds = new int[16];
+        private final Map<String, Integer> asinTable = new HashMap<>();
+        private byte[] asinBytes = new byte[160];
+        private int asinBytesSize;
+        private int[] asinOffsets = new int[17];
+        private final List<int[]> similar = new ArrayList<>();
+        private Details details = NO_DETAILS;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a product's columns. Similar products are not copied.
+         *
+         * @param product the product to add
+         * @return the new product's id
+         */
+        public int add(ProductV2 product) {
+            return add(product.asin(), product.getPrice(), product.getTotalBenefitAmount(),
+                product.getShippingPrograms(), product.isValid());
+        }
+
+        /**
+         * Adds a product.
+         *
+         * @param asin the ASIN
+         * @param price the price, a whole number of cents, or null
+         * @param benefit the total benefit amount, a whole number of cents, or null
+         * @param shippingPrograms the shipping programs, may be null
+         * @param isValid whether the product is valid
+         * @return the new product's id
+         */
+        public int add(String asin, BigDecimal price, BigDecimal benefit,
+                       Collection<ShippingProgramEnum> shippingPrograms, boolean isValid) {
+            return add(asin, toCents("price", price), toCents("benefit", benefit),
+                ShippingProgramEnum.maskOf(shippingPrograms), isValid);
+        }
+
+        /**
+         * Adds a product from its column values.
+         *
+         * @param asin the ASIN
+         * @param price the price in cents, or {@link PriceCents#NOT_REPRESENTABLE} for no price
+         * @param benefit the total benefit amount in cents, or {@link PriceCents#NOT_REPRESENTABLE} for none
+         * @param shippingMask a bitmask of {@link ShippingProgramEnum#mask()} values
+         * @param isValid whether the product is valid
+         * @return the new product's id
+         */
+        public int add(String asin, long price, long benefit, int shippingMask, boolean isValid) {
+            if ((shippingMask & ~ALL_SHIPPING_PROGRAMS) != 0) {
+                throw new IllegalArgumentException("shippingMask has unknown programs, got: " + shippingMask);
+            }
+            int id = size;
+            if (id == priceCents.length) {
+                int capacity = Math.max(16, id + (id >> 1));
+                priceCents = Arrays.copyOf(priceCents, capacity);
+                benefitCents = Arrays.copyOf(benefitCents, capacity);
+                shippingMasks = Arrays.copyOf(shippingMasks, capacity);
+                asinIds = Arrays.copyOf(asinIds, capacity);
+            }
+            priceCents[id] = price;
+            benefitCents[id] = benefit;
+            shippingMasks[id] = shippingMask;
+            valid.set(id, isValid);
+            asinIds[id] = intern(asin);
+            size++;
+            return id;
+        }
+
+        /**
+         * Sets the similar products of a product, replacing any set before.
+         *
+         * @param id the product id
+         * @param similarIds the ids of its similar products, in relevance order
+         * @return a reference to this builder
+         */
+        public Builder similarProducts(int id, int... similarIds) {
+            Objects.checkIndex(id, size);
+            for (int similarId : similarIds) {
+                Objects.checkIndex(similarId, size);
+            }
+            while (similar.size() <= id) {
+                similar.add(null);
+            }
+            similar.set(id, similarIds.clone());
+            return this;
+        }
+
+        /**
+         * Sets the source of titles, buying options and images.
+         *
+         * @param productDetails the details source
+         * @return a reference to this builder
+         */
+        public Builder details(Details productDetails) {
+            this.details = Objects.requireNonNull(productDetails, "details is required");
+            return this;
+        }
+
+        /**
+         * Builds the store. Similar product ids must all have been added by now.
+         *
+         * @return the store
+         */
+        public ColumnarProductStore build() {
+            return new ColumnarProductStore(this);
+        }
+
+        private int intern(String asin) {
+            Objects.requireNonNull(asin, "asin is required");
+            Integer existing = asinTable.get(asin);
+            if (existing != null) {
+                return existing;
+            }
+            int asinId = asinTable.size();
+            byte[] bytes = asin.getBytes(StandardCharsets.UTF_8);
+            if (asinBytesSize + bytes.length > asinBytes.length) {
+                asinBytes = Arrays.copyOf(asinBytes, Math.max(asinBytesSize + bytes.length, asinBytes.length * 2));
+            }
+            System.arraycopy(bytes, 0, asinBytes, asinBytesSize, bytes.length);
+            asinBytesSize += bytes.length;
+            if (asinId + 2 > asinOffsets.length) {
+                asinOffsets = Arrays.copyOf(asinOffsets, asinOffsets.length * 2);
+            }
+            asinOffsets[asinId + 1] = asinBytesSize;
+            asinTable.put(asin, asinId);
+            return asinId;
+        }
+
+        private static long toCents(String name, BigDecimal amount) {
+            long cents = PriceCents.of(amount);
+            if (amount != null && !PriceCents.isExact(cents)) {
+                throw new IllegalArgumentException(name + " must be a whole number of cents, got: " + amount);
+            }
+            return cents;
+        }
+    }
+
+    /**
+     * {@link ProductV2} view of one product in a store. Holds only the store and the product id.
+     */
+    static final class StoreProduct implements ProductV2, ColumnarSimilarProducts {
+        private final ColumnarProductStore store;
+        private final int id;
+        private Optional<ProductImagesV2> productImages;
+
+        StoreProduct(ColumnarProductStore store, int id) {
+            this.store = store;
+            this.id = id;
+        }
+
+        @Override
+        public SimilarProductsIndex buildSimilarProductsIndex() {
+            int start = store.similarStart(id);
+            int end = store.similarEnd(id);
+            List<ProductV2> validProducts = new ArrayList<>(end - start);
+            long[] prices = new long[end - start];
+            long[] benefits = new long[end - start];
+            int[] masks = new int[end - start];
+            for (int edge = start; edge < end; edge++) {
+                int similarId = store.similarIds[edge];
+                if (store.valid.get(similarId)) {
+                    int position = validProducts.size();
+                    prices[position] = store.priceCents[similarId];
+                    benefits[position] = store.benefitCents[similarId];
+                    masks[position] = store.shippingMasks[similarId];
+                    validProducts.add(new StoreProduct(store, similarId));
+                }
+            }
+            return SimilarProductsIndex.fromCents(validProducts, prices, benefits, masks);
+        }
+
+        @Override
+        public String internalDatapathEntity() {
+            return store.details.internalDatapathEntity(id);
+        }
+
+        @Override
+        public String title() {
+            return store.details.title(id);
+        }
+
+        @Override
+        public List<BuyingOption> buyingOptions() {
+            return store.details.buyingOptions(id);
+        }
+
+        @Override
+        public String asin() {
+            return store.asin(id);
+        }
+
+        @Override
+        public Optional<ProductImagesV2> productImages() {
+            // Kept so callers that index images per ProductImagesV2 instance see the same instance every time.
+            if (productImages == null) {
+                productImages = store.details.productImages(id);
+            }
+            return productImages;
+        }
+
+        @Override
+        public BigDecimal getTotalBenefitAmount() {
+            return toAmount(store.benefitCents[id]);
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return toAmount(store.priceCents[id]);
+        }
+
+        @Override
+        public List<ProductV2> getSimilarProducts() {
+            int start = store.similarStart(id);
+            int count = store.similarEnd(id) - start;
+            return new AbstractList<ProductV2>() {
+                @Override
+                public ProductV2 get(int index) {
+                    Objects.checkIndex(index, count);
+                    return new StoreProduct(store, store.similarIds[start + index]);
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public List<ShippingProgramEnum> getShippingPrograms() {
+            return shippingPrograms(store.shippingMasks[id]);
+        }
+
+        @Override
+        public boolean isValid() {
+            return store.valid.get(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            StoreProduct other = (StoreProduct) o;
+            return id == other.id && store == other.store;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(store) + id;
+        }
+
+        @Override
+        public String toString() {
+            return asin();
+        }
+
+        private static BigDecimal toAmount(long cents) {
+            return PriceCents.isExact(cents) ? BigDecimal.valueOf(cents, 2) : null;
+        }
+    }
+
+    private static List<List<ShippingProgramEnum>> createShippingProgramsByMask() {
+        ShippingProgramEnum[] programs = ShippingProgramEnum.values();
+        List<List<ShippingProgramEnum>> byMask = new ArrayList<>(1 << programs.length);
+        for (int mask = 0; mask < 1 << programs.length; mask++) {
+            List<ShippingProgramEnum> maskPrograms = new ArrayList<>(Integer.bitCount(mask));
+            for (ShippingProgramEnum program : programs) {
+                if ((mask & program.mask()) != 0) {
+                    maskPrograms.add(program);
+                }
+            }
+            byMask.add(Collections.unmodifiableList(maskPrograms));
+        }
+        return Collections.unmodifiableList(byMask);
+    }
+}
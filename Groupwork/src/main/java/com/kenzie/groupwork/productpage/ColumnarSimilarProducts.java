@@ -0,0 +1,16 @@
+package com.kenzie.groupwork.productpage;
+
+/**
+ * A product whose similar products are kept in primitive columns, so its {@link SimilarProductsIndex} can be built
+ * from those columns instead of reading every similar product through {@link
+ * com.kenzie.groupwork.productpage.types.ProductV2}.
+ */
+interface ColumnarSimilarProducts {
+
+    /**
+     * Builds the index over this product's valid similar products.
+     *
+     * @return the index
+     */
+    SimilarProductsIndex buildSimilarProductsIndex();
+}
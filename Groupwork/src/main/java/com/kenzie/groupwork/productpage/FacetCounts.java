@@ -0,0 +1,91 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Number of similar products behind each price range and shipping program filter, shown next to the filters.
+ *
+ * Counts follow the usual faceting rule: each price range is counted against the selected shipping filter, and each
+ * shipping program is counted against the selected price range. A count is therefore the number of products the
+ * page would show if that one facet was picked instead of the current one.
+ */
+public final class FacetCounts {
+
+    private final int[] priceRangeCounts;
+    private final int[] shippingProgramCounts;
+    private final int matchingCount;
+
+    /**
+     * Constructor.
+     *
+     * @param priceRangeCounts the count for each price range, indexed by {@link PriceRangeEnum#ordinal()}
+     * @param shippingProgramCounts the count for each shipping program, indexed by
+     *                              {@link ShippingProgramEnum#ordinal()}
+     * @param matchingCount the number of products accepted by both selected filters
+     */
+    FacetCounts(int[] priceRangeCounts, int[] shippingProgramCounts, int matchingCount) {
+        this.priceRangeCounts = priceRangeCounts.clone();
+        this.shippingProgramCounts = shippingProgramCounts.clone();
+        this.matchingCount = matchingCount;
+    }
+
+    /**
+     * Returns the number of products in a price range that match the selected shipping filter.
+     *
+     * @param priceRange the price range
+     * @return the count for that price range
+     */
+    public int getPriceRangeCount(PriceRangeEnum priceRange) {
+        return priceRangeCounts[priceRange.ordinal()];
+    }
+
+    /**
+     * Returns the number of products offering a shipping program that fall in the selected price range.
+     *
+     * @param shippingProgram the shipping program
+     * @return the count for that shipping program
+     */
+    public int getShippingProgramCount(ShippingProgramEnum shippingProgram) {
+        return shippingProgramCounts[shippingProgram.ordinal()];
+    }
+
+    /**
+     * Returns the count of every price range.
+     *
+     * @return an unmodifiable map of price range to count
+     */
+    public Map<PriceRangeEnum, Integer> getPriceRangeCounts() {
+        Map<PriceRangeEnum, Integer> counts = new EnumMap<>(PriceRangeEnum.class);
+        for (PriceRangeEnum priceRange : PriceRangeEnum.values()) {
+            counts.put(priceRange, priceRangeCounts[priceRange.ordinal()]);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the count of every shipping program.
+     *
+     * @return an unmodifiable map of shipping program to count
+     */
+    public Map<ShippingProgramEnum, Integer> getShippingProgramCounts() {
+        Map<ShippingProgramEnum, Integer> counts = new EnumMap<>(ShippingProgramEnum.class);
+        for (ShippingProgramEnum shippingProgram : ShippingProgramEnum.values()) {
+            counts.put(shippingProgram, shippingProgramCounts[shippingProgram.ordinal()]);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Returns the number of products accepted by both the selected price range and the selected shipping filter.
+     *
+     * @return the total number of matching products, across all pages
+     */
+    public int getMatchingCount() {
+        return matchingCount;
+    }
+}
@@ -0,0 +1,44 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of similar products together with the facet counts for the filters that produced it.
+ */
+public final class FacetedSimilarProducts {
+
+    private final List<ProductV2> products;
+    private final FacetCounts facetCounts;
+
+    /**
+     * Constructor.
+     *
+     * @param products the requested page of products
+     * @param facetCounts the facet counts for the selected filters
+     */
+    FacetedSimilarProducts(List<ProductV2> products, FacetCounts facetCounts) {
+        this.products = Collections.unmodifiableList(products);
+        this.facetCounts = facetCounts;
+    }
+
+    /**
+     * Returns the requested page of products.
+     *
+     * @return an unmodifiable list of products
+     */
+    public List<ProductV2> getProducts() {
+        return products;
+    }
+
+    /**
+     * Returns the facet counts for the selected filters.
+     *
+     * @return the facet counts
+     */
+    public FacetCounts getFacetCounts() {
+        return facetCounts;
+    }
+}
@@ -0,0 +1,136 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, least-recently-used cache of rendered image URLs for a single product.
+ *
+ * A product page renders the same images at a handful of sizes over and over, so URLs are kept per
+ * (image, longest dimension, variant) instead of running the StyledMedia builder on every render. Images that have
+ * no URL are cached too, so they are not rebuilt either.
+ */
+public class ImageUrlCache {
+
+    /**
+     * Default number of URLs kept per product.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final Map<Key, Optional<String>> urls;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries the number of URLs to keep before evicting the least recently used one
+     */
+    public ImageUrlCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0, got: " + maxEntries);
+        }
+        this.urls = new LinkedHashMap<Key, Optional<String>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Optional<String>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached URL for an image, rendering and caching it with the given supplier on a miss.
+     *
+     * The URL is rendered without holding the cache's lock, so a slow render doesn't hold up lookups of other
+     * images. Two threads that miss on the same image at once may both render it; the first URL cached is kept and
+     * returned to both.
+     *
+     * @param image the image being rendered
+     * @param longestDimension the size of the image's longest dimension
+     * @param urlSupplier renders the URL, returning null if the image has none
+     * @return Optional containing the image URL, or empty if the image has no URL
+     */
+    public Optional<String> getUrl(ProductImagesV2.Image image,
+                                   Integer longestDimension,
+                                   Supplier<String> urlSupplier) {
+        Key key = new Key(image, longestDimension, image.variant());
+        synchronized (this) {
+            Optional<String> url = urls.get(key);
+            if (url != null) {
+                hitCount++;
+                return url;
+            }
+            missCount++;
+        }
+        Optional<String> rendered = Optional.ofNullable(urlSupplier.get());
+        synchronized (this) {
+            Optional<String> url = urls.putIfAbsent(key, rendered);
+            return url != null ? url : rendered;
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to render the URL.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of URLs currently cached.
+     *
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return urls.size();
+    }
+
+    private static final class Key {
+        private final ProductImagesV2.Image image;
+        private final Integer longestDimension;
+        private final String variant;
+
+        Key(ProductImagesV2.Image image, Integer longestDimension, String variant) {
+            this.image = image;
+            this.longestDimension = longestDimension;
+            this.variant = variant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(image, other.image) &&
+                Objects.equals(longestDimension, other.longestDimension) &&
+                Objects.equals(variant, other.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(image, longestDimension, variant);
+        }
+    }
+}
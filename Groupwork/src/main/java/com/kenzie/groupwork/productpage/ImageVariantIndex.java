@@ -0,0 +1,115 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable index from image variant code (MAIN, PT01..PT99, FRNT, BACK, LOOK, ...) to the images of that variant.
+ *
+ * Built once per {@link ProductImagesV2}, so finding the images of a variant is a map lookup instead of comparing
+ * the variant of every image on every request. Images keep their display order within each variant.
+ */
+public final class ImageVariantIndex {
+
+    private final ProductImagesV2 source;
+    private final Map<String, List<ProductImagesV2.Image>> imagesByVariant;
+    private final Map<String, Integer> firstPositionByVariant;
+
+    private ImageVariantIndex(ProductImagesV2 source,
+                              Map<String, List<ProductImagesV2.Image>> imagesByVariant,
+                              Map<String, Integer> firstPositionByVariant) {
+        this.source = source;
+        this.imagesByVariant = imagesByVariant;
+        this.firstPositionByVariant = firstPositionByVariant;
+    }
+
+    /**
+     * Builds the index for a product's images. Images without a variant are not indexed.
+     *
+     * @param productImages the images to index
+     * @return the index
+     */
+    public static ImageVariantIndex of(ProductImagesV2 productImages) {
+        Map<String, List<ProductImagesV2.Image>> imagesByVariant = new HashMap<>();
+        Map<String, Integer> firstPositionByVariant = new HashMap<>();
+        List<ProductImagesV2.Image> images = productImages.images();
+        if (images != null) {
+            for (int position = 0; position < images.size(); position++) {
+                ProductImagesV2.Image image = images.get(position);
+                String variant = image == null ? null : image.variant();
+                if (variant != null) {
+                    imagesByVariant.computeIfAbsent(variant, ignored -> new ArrayList<>()).add(image);
+                    firstPositionByVariant.putIfAbsent(variant, position);
+                }
+            }
+        }
+        imagesByVariant.replaceAll((variant, variantImages) -> Collections.unmodifiableList(variantImages));
+        return new ImageVariantIndex(productImages, Collections.unmodifiableMap(imagesByVariant),
+            Collections.unmodifiableMap(firstPositionByVariant));
+    }
+
+    /**
+     * Checks if this index was built from the given images.
+     *
+     * @param productImages the images to check
+     * @return true if this index was built from exactly this object
+     */
+    public boolean isFor(ProductImagesV2 productImages) {
+        return source == productImages;
+    }
+
+    /**
+     * Returns the images of a variant, in display order.
+     *
+     * @param variant the variant code
+     * @return the images of the variant, or an empty list if there are none
+     */
+    public List<ProductImagesV2.Image> images(String variant) {
+        return imagesByVariant.getOrDefault(variant, Collections.emptyList());
+    }
+
+    /**
+     * Returns the images of several variants in one call.
+     *
+     * @param variants the variant codes
+     * @return a map from each requested variant that has images to its images, in the order requested
+     */
+    public Map<String, List<ProductImagesV2.Image>> images(Collection<String> variants) {
+        Map<String, List<ProductImagesV2.Image>> images = new LinkedHashMap<>();
+        for (String variant : variants) {
+            List<ProductImagesV2.Image> variantImages = imagesByVariant.get(variant);
+            if (variantImages != null) {
+                images.put(variant, variantImages);
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Returns the first image of a variant.
+     *
+     * @param variant the variant code
+     * @return Optional containing the first image of the variant, or empty if there is none
+     */
+    public Optional<ProductImagesV2.Image> firstImage(String variant) {
+        return images(variant).stream().findFirst();
+    }
+
+    /**
+     * Returns the position in {@link ProductImagesV2#images()} of the first image of a variant.
+     *
+     * @param variant the variant code
+     * @return the position, or -1 if the variant has no images
+     */
+    public int firstPosition(String variant) {
+        return firstPositionByVariant.getOrDefault(variant, -1);
+    }
+}
@@ -0,0 +1,428 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceCents;
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Similar products of one product, kept filtered and sorted as their prices, shipping programs and validity change.
+ *
+ * Every valid similar product is kept in a sorted set for each {@link SortByEnum}, each {@link PriceRangeEnum} it
+ * falls in and each {@link ShippingProgramEnum} it ships with. A change to a product moves it between those sets,
+ * which costs O(log n) per set instead of filtering and sorting every similar product again. Reading a page merges
+ * the sorted sets of the shipping programs the Prime filter accepts for the requested sort and price range, and
+ * stops once the page is full, so it visits only the first <code>offset + limit</code> matching products.
+ *
+ * Subscribe a view to a {@link ProductUpdateFeed} with {@link #subscribeTo(ProductUpdateFeed)} to keep it current.
+ * The products a view returns reflect the changes it had received when they were read, and later changes do not
+ * alter them; everything else is read from the original products. Products without an ASIN are shown but never
+ * updated. Reads may run concurrently with each other; updates are applied one at a time.
+ */
+public class LiveSimilarProductsView implements ProductUpdateListener {
+
+    private final Map<String, List<LiveProduct>> productsByAsin = new HashMap<>();
+    private final Map<SortByEnum, Map<PriceRangeEnum, Map<ShippingProgramEnum, TreeSet<LiveProduct>>>> orderings =
+        new EnumMap<>(SortByEnum.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor.
+     *
+     * @param similarProducts the similar products, in relevance order. Null products are left out. May be null.
+     */
+    public LiveSimilarProductsView(List<ProductV2> similarProducts) {
+        for (SortByEnum sortBy : SortByEnum.values()) {
+            Comparator<LiveProduct> comparator = comparator(sortBy);
+            Map<PriceRangeEnum, Map<ShippingProgramEnum, TreeSet<LiveProduct>>> byRange =
+                new EnumMap<>(PriceRangeEnum.class);
+            for (PriceRangeEnum priceRange : PriceRangeEnum.values()) {
+                Map<ShippingProgramEnum, TreeSet<LiveProduct>> byProgram = new EnumMap<>(ShippingProgramEnum.class);
+                for (ShippingProgramEnum program : ShippingProgramEnum.values()) {
+                    byProgram.put(program, new TreeSet<>(comparator));
+                }
+                byRange.put(priceRange, byProgram);
+            }
+            orderings.put(sortBy, byRange);
+        }
+
+        if (similarProducts != null) {
+            int position = 0;
+            for (ProductV2 product : similarProducts) {
+                if (product != null) {
+                    LiveProduct liveProduct = new LiveProduct(product, position++);
+                    if (product.asin() != null) {
+                        productsByAsin.computeIfAbsent(product.asin(), ignored -> new ArrayList<>(1))
+                            .add(liveProduct);
+                    }
+                    add(liveProduct);
+                }
+            }
+        }
+    }
+
+    /**
+     * Subscribes this view to changes for every one of its similar products.
+     *
+     * @param feed the feed to receive changes from
+     */
+    public void subscribeTo(ProductUpdateFeed feed) {
+        feed.subscribe(asins(), this);
+    }
+
+    /**
+     * Stops this view receiving changes from a feed.
+     *
+     * @param feed the feed to stop receiving changes from
+     */
+    public void unsubscribeFrom(ProductUpdateFeed feed) {
+        feed.unsubscribe(asins(), this);
+    }
+
+    /**
+     * Returns the ASINs of the similar products in this view.
+     *
+     * @return the ASINs
+     */
+    public Set<String> asins() {
+        lock.readLock().lock();
+        try {
+            return Collections.unmodifiableSet(new HashSet<>(productsByAsin.keySet()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the current valid similar products accepted by both filters, sorted.
+     *
+     * @param sortBy sort by parameter
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @return list of products
+     */
+    public List<ProductV2> getSimilarProducts(SortByEnum sortBy, PriceRangeOption priceRange, PrimeOption primeOption) {
+        return getSimilarProducts(sortBy, priceRange, primeOption, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns one page of the current valid similar products accepted by both filters, sorted.
+     *
+     * @param sortBy sort by parameter
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @param offset the number of matching products to skip
+     * @param limit the maximum number of products to return
+     * @return the requested page of products
+     */
+    public List<ProductV2> getSimilarProducts(SortByEnum sortBy,
+                                              PriceRangeOption priceRange,
+                                              PrimeOption primeOption,
+                                              int offset,
+                                              int limit) {
+        TopKSelector.validatePage(offset, limit);
+        if (priceRange.getValue() == null) {
+            throw new IllegalArgumentException("priceRange must be one of the PriceRangeEnum ranges");
+        }
+        List<ProductV2> page = new ArrayList<>(Math.min(limit, 16));
+        lock.readLock().lock();
+        try {
+            Map<ShippingProgramEnum, TreeSet<LiveProduct>> byProgram =
+                orderings.get(sortOrder(sortBy)).get(priceRange.getValue());
+            List<Iterator<LiveProduct>> iterators = new ArrayList<>();
+            List<LiveProduct> heads = new ArrayList<>();
+            Comparator<? super LiveProduct> comparator = null;
+            for (ShippingProgramEnum program : ShippingProgramEnum.values()) {
+                if (primeOption.matchesMask(program.mask())) {
+                    TreeSet<LiveProduct> ordering = byProgram.get(program);
+                    comparator = ordering.comparator();
+                    iterators.add(ordering.iterator());
+                    heads.add(null);
+                }
+            }
+
+            int skipped = 0;
+            while (page.size() < limit) {
+                LiveProduct next = nextOf(iterators, heads, comparator);
+                if (next == null) {
+                    break;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    page.add(next);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page;
+    }
+
+    @Override
+    public void onPriceChanged(String asin, BigDecimal price) {
+        update(asin, product -> product.withPrice(price));
+    }
+
+    @Override
+    public void onShippingChanged(String asin, List<ShippingProgramEnum> shippingPrograms) {
+        update(asin, product -> product.withShippingPrograms(shippingPrograms));
+    }
+
+    @Override
+    public void onValidityChanged(String asin, boolean valid) {
+        update(asin, product -> product.withValid(valid));
+    }
+
+    private void update(String asin, UnaryOperator<LiveProduct> change) {
+        lock.writeLock().lock();
+        try {
+            List<LiveProduct> products = productsByAsin.getOrDefault(asin, Collections.emptyList());
+            for (int index = 0; index < products.size(); index++) {
+                // Products are replaced rather than changed, so pages that were already read keep what they showed.
+                LiveProduct current = products.get(index);
+                LiveProduct changed = change.apply(current);
+                remove(current);
+                add(changed);
+                products.set(index, changed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(LiveProduct product) {
+        forEachOrdering(product, ordering -> ordering.add(product));
+    }
+
+    private void remove(LiveProduct product) {
+        forEachOrdering(product, ordering -> ordering.remove(product));
+    }
+
+    private void forEachOrdering(LiveProduct product, Consumer<TreeSet<LiveProduct>> action) {
+        if (!product.valid) {
+            return;
+        }
+        for (PriceRangeEnum priceRange : product.priceRanges()) {
+            for (ShippingProgramEnum program : ShippingProgramEnum.values()) {
+                if ((product.shippingMask & program.mask()) != 0) {
+                    for (Map<PriceRangeEnum, Map<ShippingProgramEnum, TreeSet<LiveProduct>>> byRange :
+                        orderings.values()) {
+                        action.accept(byRange.get(priceRange).get(program));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the first product of a k-way merge of sorted iterators. A product that ships with several accepted
+     * programs is at the head of several iterators at once, and is taken from all of them.
+     */
+    private static LiveProduct nextOf(List<Iterator<LiveProduct>> iterators,
+                                      List<LiveProduct> heads,
+                                      Comparator<? super LiveProduct> comparator) {
+        LiveProduct next = null;
+        for (int index = 0; index < iterators.size(); index++) {
+            if (heads.get(index) == null && iterators.get(index).hasNext()) {
+                heads.set(index, iterators.get(index).next());
+            }
+            LiveProduct head = heads.get(index);
+            if (head != null && (next == null || comparator.compare(head, next) < 0)) {
+                next = head;
+            }
+        }
+        for (int index = 0; index < heads.size(); index++) {
+            if (heads.get(index) == next) {
+                heads.set(index, null);
+            }
+        }
+        return next;
+    }
+
+    private static SortByEnum sortOrder(SortByEnum sortBy) {
+        return sortBy == null ? SortByEnum.RELEVANCE : sortBy;
+    }
+
+    private static Comparator<LiveProduct> comparator(SortByEnum sortBy) {
+        Comparator<LiveProduct> byPosition = Comparator.comparingInt(product -> product.position);
+        switch (sortBy) {
+            case REWARD_LOW_TO_HIGH:
+                return ((Comparator<LiveProduct>) LiveProduct::compareBenefits).thenComparing(byPosition);
+            case REWARD_HIGH_TO_LOW:
+                return ((Comparator<LiveProduct>) (left, right) -> LiveProduct.compareBenefits(right, left))
+                    .thenComparing(byPosition);
+            case PRICE_LOW_TO_HIGH:
+                return ((Comparator<LiveProduct>) LiveProduct::comparePrices).thenComparing(byPosition);
+            case PRICE_HIGH_TO_LOW:
+                return ((Comparator<LiveProduct>) (left, right) -> LiveProduct.comparePrices(right, left))
+                    .thenComparing(byPosition);
+            default:
+                return byPosition;
+        }
+    }
+
+    /**
+     * A similar product as this view saw it at one point: the original product with the changes received before.
+     * Immutable; a change makes a new LiveProduct.
+     */
+    private static final class LiveProduct implements ProductV2 {
+        private final ProductV2 product;
+        private final int position;
+        private final BigDecimal benefit;
+        private final long benefitCents;
+        private final BigDecimal price;
+        private final long priceCents;
+        private final List<ShippingProgramEnum> shippingPrograms;
+        private final int shippingMask;
+        private final boolean valid;
+
+        LiveProduct(ProductV2 product, int position) {
+            this(product, position, product.getTotalBenefitAmount(), product.getPrice(),
+                copyOf(product.getShippingPrograms()), product.isValid());
+        }
+
+        private LiveProduct(ProductV2 product, int position, BigDecimal benefit, BigDecimal price,
+                            List<ShippingProgramEnum> shippingPrograms, boolean valid) {
+            this.product = product;
+            this.position = position;
+            this.benefit = benefit;
+            this.benefitCents = PriceCents.of(benefit);
+            this.price = price;
+            this.priceCents = PriceCents.of(price);
+            this.shippingPrograms = shippingPrograms;
+            this.shippingMask = ShippingProgramEnum.maskOf(shippingPrograms);
+            this.valid = valid;
+        }
+
+        LiveProduct withPrice(BigDecimal newPrice) {
+            return new LiveProduct(product, position, benefit, newPrice, shippingPrograms, valid);
+        }
+
+        LiveProduct withShippingPrograms(List<ShippingProgramEnum> newShippingPrograms) {
+            return new LiveProduct(product, position, benefit, price, copyOf(newShippingPrograms), valid);
+        }
+
+        LiveProduct withValid(boolean newValid) {
+            return new LiveProduct(product, position, benefit, price, shippingPrograms, newValid);
+        }
+
+        private static List<ShippingProgramEnum> copyOf(List<ShippingProgramEnum> shippingPrograms) {
+            return shippingPrograms == null ? null : Collections.unmodifiableList(new ArrayList<>(shippingPrograms));
+        }
+
+        List<PriceRangeEnum> priceRanges() {
+            List<PriceRangeEnum> priceRanges = new ArrayList<>(2);
+            if (price != null) {
+                for (PriceRangeEnum priceRange : PriceRangeEnum.values()) {
+                    if (SimilarProductsIndex.priceRangeOption(priceRange).priceIsWithin(priceCents, price)) {
+                        priceRanges.add(priceRange);
+                    }
+                }
+            }
+            return priceRanges;
+        }
+
+        static int comparePrices(LiveProduct left, LiveProduct right) {
+            return PriceCents.compare(left.priceCents, left.price, right.priceCents, right.price);
+        }
+
+        static int compareBenefits(LiveProduct left, LiveProduct right) {
+            return PriceCents.compare(left.benefitCents, left.benefit, right.benefitCents, right.benefit);
+        }
+
+        @Override
+        public String internalDatapathEntity() {
+            return product.internalDatapathEntity();
+        }
+
+        @Override
+        public String title() {
+            return product.title();
+        }
+
+        @Override
+        public List<BuyingOption> buyingOptions() {
+            return product.buyingOptions();
+        }
+
+        @Override
+        public String asin() {
+            return product.asin();
+        }
+
+        @Override
+        public Optional<ProductImagesV2> productImages() {
+            return product.productImages();
+        }
+
+        @Override
+        public BigDecimal getTotalBenefitAmount() {
+            return benefit;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        @Override
+        public List<ProductV2> getSimilarProducts() {
+            return product.getSimilarProducts();
+        }
+
+        @Override
+        public List<ShippingProgramEnum> getShippingPrograms() {
+            return shippingPrograms;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return position == ((LiveProduct) o).position && Objects.equals(product, ((LiveProduct) o).product);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(product, position);
+        }
+
+        @Override
+        public String toString() {
+            return asin();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceCents;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Filters and sorts very large similar product lists on a ForkJoinPool.
+ *
+ * The candidates are split in halves until a chunk is no larger than the sequential threshold. Each chunk is
+ * filtered and sorted on its own, and sorted chunks are merged back together by the sort keys each chunk read for its
+ * products, so no product's amount is read more than once. Lists no larger than the threshold are filtered on the
+ * calling thread, so small pages don't pay for forking.
+ */
+public class ParallelSimilarProductsFilter {
+
+    /**
+     * Number of candidates below which filtering stays on the calling thread.
+     */
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 4096;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    /**
+     * Constructor.
+     *
+     * @param pool the pool to filter large candidate lists on
+     * @param sequentialThreshold the largest chunk of candidates filtered by a single task
+     */
+    public ParallelSimilarProductsFilter(ForkJoinPool pool, int sequentialThreshold) {
+        if (sequentialThreshold <= 0) {
+            throw new IllegalArgumentException("sequentialThreshold must be > 0, got: " + sequentialThreshold);
+        }
+        this.pool = Objects.requireNonNull(pool, "pool is required");
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    /**
+     * Creates a filter that runs on the common ForkJoinPool with the default threshold.
+     *
+     * @return a filter using the common pool
+     */
+    public static ParallelSimilarProductsFilter usingCommonPool() {
+        return new ParallelSimilarProductsFilter(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Returns the valid candidates accepted by both filters, sorted.
+     *
+     * @param candidates the products to filter, may be null
+     * @param sortBy the sort order; RELEVANCE or null keeps the candidates' order
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @return a new list of matching products
+     */
+    public List<ProductV2> filterAndSort(List<ProductV2> candidates,
+                                         SortByEnum sortBy,
+                                         PriceRangeOption priceRange,
+                                         PrimeOption primeOption) {
+        if (candidates == null) {
+            return new ArrayList<>();
+        }
+        List<ProductV2> randomAccess = candidates instanceof RandomAccess ? candidates : new ArrayList<>(candidates);
+        FilterTask task = new FilterTask(randomAccess, 0, randomAccess.size(), sortBy, priceRange, primeOption);
+        if (randomAccess.size() <= sequentialThreshold) {
+            return task.compute().products();
+        }
+        return pool.invoke(task).products();
+    }
+
+    private static boolean isEligible(ProductV2 product, PriceRangeOption priceRange, PrimeOption primeOption) {
+        if (Objects.isNull(product) || !product.isValid()) {
+            return false;
+        }
+        // Products without a price are in no price range, as in SimilarProductsIndex's price buckets.
+        BigDecimal price = product.getPrice();
+        return price != null &&
+            priceRange.priceIsWithin(PriceCents.of(price), price) &&
+            primeOption.matchesAny(product.getShippingPrograms());
+    }
+
+    private final class FilterTask extends RecursiveTask<SortKeys.SortedRun> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<ProductV2> candidates;
+        private final int from;
+        private final int to;
+        private final transient SortByEnum sortBy;
+        private final transient PriceRangeOption priceRange;
+        private final transient PrimeOption primeOption;
+
+        FilterTask(List<ProductV2> candidates, int from, int to, SortByEnum sortBy,
+                   PriceRangeOption priceRange, PrimeOption primeOption) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.sortBy = sortBy;
+            this.priceRange = priceRange;
+            this.primeOption = primeOption;
+        }
+
+        @Override
+        protected SortKeys.SortedRun compute() {
+            if (to - from <= sequentialThreshold) {
+                List<ProductV2> matching = new ArrayList<>();
+                for (int position = from; position < to; position++) {
+                    ProductV2 product = candidates.get(position);
+                    if (isEligible(product, priceRange, primeOption)) {
+                        matching.add(product);
+                    }
+                }
+                return SortKeys.sortedRun(matching, sortBy);
+            }
+            int middle = (from + to) >>> 1;
+            FilterTask left = new FilterTask(candidates, from, middle, sortBy, priceRange, primeOption);
+            FilterTask right = new FilterTask(candidates, middle, to, sortBy, priceRange, primeOption);
+            left.fork();
+            SortKeys.SortedRun rightMatches = right.compute();
+            return left.join().mergeWith(rightMatches);
+        }
+    }
+}
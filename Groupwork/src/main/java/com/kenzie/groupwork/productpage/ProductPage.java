@@ -1,5 +1,9 @@
 package com.kenzie.groupwork.productpage;
 
+import com.kenzie.groupwork.productpage.types.ImageRendering;
+import com.kenzie.groupwork.productpage.types.ImageUrlBatch;
+import com.kenzie.groupwork.productpage.types.PriceCents;
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
 import com.kenzie.groupwork.productpage.types.PriceRangeOption;
 import com.kenzie.groupwork.productpage.types.PrimeOption;
 import com.kenzie.groupwork.productpage.types.ProductImagesV2;
@@ -7,35 +11,51 @@ import com.kenzie.groupwork.productpage.types.ProductV2;
 import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
 import com.kenzie.groupwork.productpage.types.SortByEnum;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
-import static com.kenzie.groupwork.productpage.types.SortByEnum.PRICE_HIGH_TO_LOW;
-import static com.kenzie.groupwork.productpage.types.SortByEnum.PRICE_LOW_TO_HIGH;
-import static com.kenzie.groupwork.productpage.types.SortByEnum.REWARD_HIGH_TO_LOW;
-import static com.kenzie.groupwork.productpage.types.SortByEnum.REWARD_LOW_TO_HIGH;
-
 public class ProductPage {
 
     private static final String LOOK_VARIANT = "LOOK";
 
     private final ProductV2 productV2;
 
-    private final Map<SortByEnum, Comparator<ProductV2>> comparatorForSortBy = createSortComparatorMap();
+    private final ProductPageState derivedState;
 
     public ProductPage(ProductV2 productV2) {
-        this.productV2 = productV2;
+        this(new ProductPageState(productV2));
+    }
+
+    /**
+     * Constructor for pages that reuse the derived state of an earlier page for the same product. The page displays
+     * the product the state was built from, so everything on it comes from one snapshot of the product.
+     *
+     * @param derivedState the product and the indexes and caches derived from it, possibly shared with other pages
+     */
+    ProductPage(ProductPageState derivedState) {
+        this.productV2 = derivedState.getProduct();
+        this.derivedState = derivedState;
     }
 
     public ProductV2 getProduct() {
         return productV2;
     }
 
+    /**
+     * Returns the cache of image URLs rendered for this product, including its hit and miss counts.
+     *
+     * @return the image URL cache
+     */
+    public ImageUrlCache getImageUrlCache() {
+        return derivedState.getImageUrlCache();
+    }
+
     /**
      * Returns the first (winning) buying option from ProductV2.
      *
@@ -46,17 +66,17 @@ public class ProductPage {
      * @return An Optional with the winning BuyingOption, or empty if none.
      */
     public Optional<ProductV2.BuyingOption> getFirstBuyingOption() {
-        //3 points: one assignment for 2 points and one method call for 1 point
-        List<ProductV2.BuyingOption> buyingOptions = productV2.buyingOptions();
-        //2 points: one conditional ! for 1 point, and one method call for 1 point
-        if (!buyingOptions.isEmpty()) {
-            //2 points: one return for 1 point and one method call for 1 point
-            return buyingOptions.stream()
-                    //1 point: one method call for 1 point
-                .findFirst();
-        }
-        //2 points: one return for 1 point and one method call for 1 point
-        return Optional.empty();
+        //3 points: one return for 1 point and two method calls for 1 point each
+        return getBuyingOptionSummary().getWinner();
+    }
+
+    /**
+     * Returns the buy box summary of this product's buying options, building it on first use.
+     *
+     * @return the buying option summary
+     */
+    public BuyingOptionSummary getBuyingOptionSummary() {
+        return derivedState.getBuyingOptionSummary();
     }
 
     /**
@@ -112,22 +132,15 @@ public class ProductPage {
         //1 points: one method call for 1 point
         if (productImages.isPresent()) {
             //3 points: one assignment for 2 points and one method call for 1 point
-            ProductImagesV2 productImagesV2 = productImages.get();
-            //3 points: one assignment for 2 points and one method call for 1 point
-            List<ProductImagesV2.Image> images = productImagesV2.images();
-            //0 points: for loops declarations are free and no other methods called in declaration
-            for (ProductImagesV2.Image image : images) {
+            ImageVariantIndex variantIndex = getImageVariantIndex(productImages.get());
+            //1 point: one method call inside the for loop declaration for 1 point
+            for (ProductImagesV2.Image image : variantIndex.images(LOOK_VARIANT)) {
                 //3 points: one assignment for 2 points and one method call for 1 point
-                String variant = image.variant();
-                //3 points: one comparison for 1 point, one conditional for 1 point, and one method call for 1 point
-                if (variant != null && variant.equals(LOOK_VARIANT)) {
-                    //3 points: one assignment for 2 points and one method call for 1 point
-                    String url = extractImageUrl(image, longestDimension);
-                    //1 point: one comparison for 1 point
-                    if (url != null) {
-                        //2 points: one return for 1 point and 1 method call for 1 point
-                        return Optional.of(url);
-                    }
+                String url = extractImageUrl(image, longestDimension);
+                //1 point: one comparison for 1 point
+                if (url != null) {
+                    //2 points: one return for 1 point and 1 method call for 1 point
+                    return Optional.of(url);
                 }
             }
         }
@@ -135,9 +148,49 @@ public class ProductPage {
         return Optional.empty();
     }
 
+    /**
+     * Extracts the image URL of the first image with a URL for each of several variants, in one call.
+     *
+     * @param variants the variant codes to look up, such as MAIN, PT01 or LOOK
+     * @param longestDimension the size of the image's longest dimension.
+     * @return a map from each variant that has an image URL to that URL, in the order requested.
+     */
+    public Map<String, String> extractVariantImageUrls(Collection<String> variants, Integer longestDimension) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        productV2.productImages()
+            .map(this::getImageVariantIndex)
+            .ifPresent(variantIndex -> variantIndex.images(variants).forEach((variant, images) -> {
+                for (ProductImagesV2.Image image : images) {
+                    String url = extractImageUrl(image, longestDimension);
+                    if (url != null) {
+                        urls.put(variant, url);
+                        break;
+                    }
+                }
+            }));
+        return urls;
+    }
+
+    /**
+     * Extracts the URL of every product image at each of the given renderings, for image carousels.
+     *
+     * @param renderings the sizes to render each image at
+     * @return one map per image, in display order, from rendering to URL, or an empty list if there are no images.
+     */
+    public List<Map<ImageRendering, String>> extractCarouselImageUrls(List<ImageRendering> renderings) {
+        ImageUrlBatch batch = new ImageUrlBatch(null, renderings);
+        return productV2.productImages()
+            .map(batch::render)
+            .orElseGet(ArrayList::new);
+    }
+
     /**
      * Get products to display from AAPI.
      *
+     * When both filters expose their criteria (a known price range and a non-empty shipping program bitmask) the
+     * page is answered from this product's {@link SimilarProductsIndex}. Otherwise the similar products are scanned
+     * and sorted, asking the filters about each product.
+     *
      * @param sortBy sort by parameter
      * @param priceRange price range filter
      * @param primeOption prime filter
@@ -150,9 +203,160 @@ public class ProductPage {
     public List<ProductV2> getSimilarProducts(final SortByEnum sortBy,
                                               final PriceRangeOption priceRange,
                                               final PrimeOption primeOption) {
+        final PriceRangeEnum indexedRange = priceRange.getValue();
+        final int indexedShipping = primeOption.getSupportedMask();
+        if (indexedRange != null && indexedShipping != 0) {
+            return getSimilarProductsIndex().query(sortBy, indexedRange, indexedShipping, 0, Integer.MAX_VALUE);
+        }
+
+        //3 points: one assignment for 2 points and one method call for 1 point
+        final List<ProductV2> matchingProducts = filterSimilarProducts(priceRange, primeOption);
+        //2 points: one return for 1 point and one method call for 1 point
+        return SortKeys.sorted(matchingProducts, sortBy);
+    }
+
+    /**
+     * Get one page of products to display from AAPI.
+     *
+     * Only the products on the requested page are put in order, so the cost grows with the size of the page
+     * rather than with the number of similar products.
+     *
+     * @param sortBy sort by parameter
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @param offset the number of matching products to skip
+     * @param limit the maximum number of products to return
+     * @return the requested page of products
+     */
+    public List<ProductV2> getSimilarProducts(final SortByEnum sortBy,
+                                              final PriceRangeOption priceRange,
+                                              final PrimeOption primeOption,
+                                              final int offset,
+                                              final int limit) {
+        final PriceRangeEnum indexedRange = priceRange.getValue();
+        final int indexedShipping = primeOption.getSupportedMask();
+        if (indexedRange != null && indexedShipping != 0) {
+            return getSimilarProductsIndex().query(sortBy, indexedRange, indexedShipping, offset, limit);
+        }
+
+        TopKSelector.validatePage(offset, limit);
+        return SortKeys.page(filterSimilarProducts(priceRange, primeOption), sortBy, offset, limit);
+    }
+
+    /**
+     * Get one page of products to display from AAPI, with the number of products behind every price range and
+     * shipping program filter.
+     *
+     * Each price range is counted against the Prime filter and each shipping program against the price range, so
+     * the counts say how many products the page would show if that facet was picked instead. With filters that
+     * expose their criteria the counts come from bucket intersections in the {@link SimilarProductsIndex};
+     * otherwise they are gathered in the same scan that filters the page.
+     *
+     * @param sortBy sort by parameter
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @param offset the number of matching products to skip
+     * @param limit the maximum number of products to return
+     * @return the requested page of products and the facet counts
+     */
+    public FacetedSimilarProducts getSimilarProductsWithFacets(final SortByEnum sortBy,
+                                                               final PriceRangeOption priceRange,
+                                                               final PrimeOption primeOption,
+                                                               final int offset,
+                                                               final int limit) {
+        final PriceRangeEnum indexedRange = priceRange.getValue();
+        final int indexedShipping = primeOption.getSupportedMask();
+        if (indexedRange != null && indexedShipping != 0) {
+            SimilarProductsIndex index = getSimilarProductsIndex();
+            return new FacetedSimilarProducts(index.query(sortBy, indexedRange, indexedShipping, offset, limit),
+                index.facetCounts(indexedRange, indexedShipping));
+        }
+
+        TopKSelector.validatePage(offset, limit);
+        int[] priceRangeCounts = new int[PriceRangeEnum.values().length];
+        int[] shippingProgramCounts = new int[ShippingProgramEnum.values().length];
+        List<ProductV2> matchingProducts = new ArrayList<>();
+        List<ProductV2> unorderedProducts = productV2.getSimilarProducts();
+        if (unorderedProducts != null) {
+            for (ProductV2 product : unorderedProducts) {
+                if (Objects.isNull(product) || !product.isValid()) {
+                    continue;
+                }
+                // Products without a price are in no price range, as in SimilarProductsIndex's price buckets.
+                BigDecimal price = product.getPrice();
+                long priceCents = PriceCents.of(price);
+                boolean priced = price != null;
+                boolean inRange = priced && priceRange.priceIsWithin(priceCents, price);
+                boolean shipped = false;
+                for (ShippingProgramEnum shippingProgram : product.getShippingPrograms()) {
+                    if (primeOption.matches(shippingProgram)) {
+                        shipped = true;
+                        break;
+                    }
+                }
+                if (shipped && priced) {
+                    for (PriceRangeEnum range : PriceRangeEnum.values()) {
+                        if (SimilarProductsIndex.priceRangeOption(range).priceIsWithin(priceCents, price)) {
+                            priceRangeCounts[range.ordinal()]++;
+                        }
+                    }
+                }
+                if (inRange) {
+                    int shippingMask = ShippingProgramEnum.maskOf(product.getShippingPrograms());
+                    for (ShippingProgramEnum shippingProgram : ShippingProgramEnum.values()) {
+                        if ((shippingMask & shippingProgram.mask()) != 0) {
+                            shippingProgramCounts[shippingProgram.ordinal()]++;
+                        }
+                    }
+                    if (shipped) {
+                        matchingProducts.add(product);
+                    }
+                }
+            }
+        }
+        return new FacetedSimilarProducts(
+            SortKeys.page(matchingProducts, sortBy, offset, limit),
+            new FacetCounts(priceRangeCounts, shippingProgramCounts, matchingProducts.size()));
+    }
+
+    /**
+     * Get products to display from AAPI, filtering and sorting them on a ForkJoinPool.
+     *
+     * Meant for catalog-wide similar product lists with tens of thousands of candidates; lists smaller than the
+     * filter's threshold are handled on the calling thread.
+     *
+     * @param sortBy sort by parameter
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @param parallelFilter the pool and threshold to filter with
+     * @return list of products
+     */
+    public List<ProductV2> getSimilarProductsInParallel(final SortByEnum sortBy,
+                                                        final PriceRangeOption priceRange,
+                                                        final PrimeOption primeOption,
+                                                        final ParallelSimilarProductsFilter parallelFilter) {
+        return parallelFilter.filterAndSort(productV2.getSimilarProducts(), sortBy, priceRange, primeOption);
+    }
+
+    /**
+     * Creates a view of this product's similar products that stays filtered and sorted as their prices, shipping
+     * programs and validity change. Subscribe it to a {@link ProductUpdateFeed} to keep it current.
+     *
+     * @return a new live view of the similar products
+     */
+    public LiveSimilarProductsView createLiveSimilarProductsView() {
+        return new LiveSimilarProductsView(productV2.getSimilarProducts());
+    }
 
-        //4 points: one assignment for 2 points, two method calls for 1 point each
-        Comparator<ProductV2> sorter = comparatorForSortBy.getOrDefault(sortBy, passthroughComparator());
+    /**
+     * Scans the similar products for valid products accepted by both filters.
+     *
+     * @param priceRange price range filter
+     * @param primeOption prime filter
+     * @return a new list of the matching products, in their original order
+     */
+    private List<ProductV2> filterSimilarProducts(final PriceRangeOption priceRange,
+                                                  final PrimeOption primeOption) {
         //3 points: one assignment for 2 points and one method call for 1 point
         final List<ProductV2> unorderedProducts = productV2.getSimilarProducts();
         //3 points: one assignment for 2 points and one constructor for 1 point
@@ -179,38 +383,46 @@ public class ProductPage {
                 }
             }
         }
-        //1 point: one method call for 1 point
-        matchingProducts.sort(sorter);
-        //1 point: one return for 1 point
         return matchingProducts;
     }
 
     /**
-     * Extracts the image URL from a ProductImageV2.Image.
+     * Returns the similar products index for this product, building it on first use. Products that keep their
+     * similar products in columns, such as {@link ColumnarProductStore} views, are indexed from those columns.
+     *
+     * @return the similar products index
      */
-    private String extractImageUrl(ProductImagesV2.Image image, Integer longest) {
-        // Looks like a Stream or Optional, but it's a Builder.
-        return image.lowRes().styleBuilder()
-            .scaleToLongest(longest)
-            .build()
-            .url();
+    SimilarProductsIndex getSimilarProductsIndex() {
+        return derivedState.getSimilarProductsIndex();
     }
 
     /**
-     * Returns a Comparator that does not change order.
-     * @param <T> The type of item this Comparator will compare.
-     * @return a Comparator that does not change order.
+     * Returns the variant index for this product's images, building it the first time these images are seen.
+     *
+     * @param productImages the product's images
+     * @return the variant index
      */
-    private <T> Comparator<T> passthroughComparator() {
-        return Comparator.comparing(other -> 0);
+    private ImageVariantIndex getImageVariantIndex(ProductImagesV2 productImages) {
+        return derivedState.getImageVariantIndex(productImages);
     }
 
-    private Map<SortByEnum, Comparator<ProductV2>> createSortComparatorMap() {
-        Map<SortByEnum, Comparator<ProductV2>> comparatorMap = new HashMap<>();
-        comparatorMap.put(REWARD_LOW_TO_HIGH, Comparator.comparing(ProductV2::getTotalBenefitAmount));
-        comparatorMap.put(REWARD_HIGH_TO_LOW, Comparator.comparing(ProductV2::getTotalBenefitAmount).reversed());
-        comparatorMap.put(PRICE_LOW_TO_HIGH, Comparator.comparing(ProductV2::getPrice));
-        comparatorMap.put(PRICE_HIGH_TO_LOW, Comparator.comparing(ProductV2::getPrice).reversed());
-        return comparatorMap;
+    /**
+     * Extracts the image URL from a ProductImageV2.Image, rendering it only if it is not already cached.
+     */
+    private String extractImageUrl(ProductImagesV2.Image image, Integer longest) {
+        return derivedState.getImageUrlCache()
+            .getUrl(image, longest, () -> renderImageUrl(image, longest))
+            .orElse(null);
+    }
+
+    /**
+     * Renders the image URL for a ProductImageV2.Image.
+     */
+    private String renderImageUrl(ProductImagesV2.Image image, Integer longest) {
+        // Looks like a Stream or Optional, but it's a Builder.
+        CharSequence url = image.lowRes().styleBuilder()
+            .scaleToLongest(longest)
+            .renderUrl();
+        return url == null ? null : url.toString();
     }
 }
@@ -0,0 +1,158 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Creates request-scoped ProductPages that share the derived state of earlier pages for the same product.
+ *
+ * The first product fetched for an ASIN is kept, with the indexes, buying option summary and image URL cache built
+ * from it, and every page for that ASIN displays that product until it is older than the time to live. Each page is
+ * then consistent with itself, and building one is a single small allocation instead of rebuilding that state per
+ * request. Products fetched while a fresh one is cached are only used once it expires or is invalidated.
+ * Least recently used ASINs are dropped once the cache holds the maximum number of products. Products without an
+ * ASIN get fresh state that is not cached.
+ */
+public class ProductPageFactory {
+
+    /**
+     * Default number of products whose derived state is kept.
+     */
+    public static final int DEFAULT_MAX_PRODUCTS = 10_000;
+
+    /**
+     * Default time a product's derived state is reused before being rebuilt from a newer product.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final Map<String, CachedState> states;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructor.
+     *
+     * @param maxProducts the number of products to keep state for before evicting the least recently used one
+     * @param timeToLive how long a product's derived state is reused
+     */
+    public ProductPageFactory(int maxProducts, Duration timeToLive) {
+        this(maxProducts, timeToLive, System::nanoTime);
+    }
+
+    /**
+     * Constructor with a custom clock, for tests.
+     *
+     * @param maxProducts the number of products to keep state for before evicting the least recently used one
+     * @param timeToLive how long a product's derived state is reused
+     * @param nanoClock returns the current time in nanoseconds
+     */
+    ProductPageFactory(int maxProducts, Duration timeToLive, LongSupplier nanoClock) {
+        if (maxProducts <= 0) {
+            throw new IllegalArgumentException("maxProducts must be > 0, got: " + maxProducts);
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive, got: " + timeToLive);
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock is required");
+        this.states = new LinkedHashMap<String, CachedState>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedState> eldest) {
+                return size() > maxProducts;
+            }
+        };
+    }
+
+    /**
+     * Creates a factory with the default size and time to live.
+     *
+     * @return a new factory
+     */
+    public static ProductPageFactory withDefaults() {
+        return new ProductPageFactory(DEFAULT_MAX_PRODUCTS, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Creates the page for a product. If a fresh product with the same ASIN is cached, the page displays that product
+     * and reuses its derived state; otherwise the given product is cached and displayed.
+     *
+     * @param productV2 the product fetched for this request
+     * @return a page for the product
+     */
+    public ProductPage create(ProductV2 productV2) {
+        return new ProductPage(stateFor(productV2));
+    }
+
+    /**
+     * Drops the cached state of a product, so the next page for it is built from scratch.
+     *
+     * @param asin the product's ASIN
+     */
+    public synchronized void invalidate(String asin) {
+        states.remove(asin);
+    }
+
+    /**
+     * Returns the number of pages created with cached state.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of pages that needed new state.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of products whose state is currently cached, including expired ones not yet replaced.
+     *
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return states.size();
+    }
+
+    private synchronized ProductPageState stateFor(ProductV2 productV2) {
+        String asin = productV2.asin();
+        if (asin == null) {
+            missCount++;
+            return new ProductPageState(productV2);
+        }
+        long now = nanoClock.getAsLong();
+        CachedState entry = states.get(asin);
+        if (entry != null && now - entry.createdNanos < timeToLiveNanos) {
+            hitCount++;
+            return entry.state;
+        }
+        missCount++;
+        entry = new CachedState(new ProductPageState(productV2), now);
+        states.put(asin, entry);
+        return entry.state;
+    }
+
+    private static final class CachedState {
+        private final ProductPageState state;
+        private final long createdNanos;
+
+        CachedState(ProductPageState state, long createdNanos) {
+            this.state = state;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
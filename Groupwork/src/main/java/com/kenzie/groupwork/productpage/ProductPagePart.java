@@ -0,0 +1,11 @@
+package com.kenzie.groupwork.productpage;
+
+/**
+ * The independent pieces of a detail page that {@link AsyncProductPageAssembler} computes concurrently.
+ */
+public enum ProductPagePart {
+    FIRST_BUYING_OPTION,
+    MAIN_IMAGE_URL,
+    LOOK_IMAGE_URL,
+    SIMILAR_PRODUCTS
+}
@@ -0,0 +1,99 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+
+/**
+ * A product together with what a ProductPage works out from it that later pages for the same product can reuse: the
+ * similar products index, the image variant index, the buying option summary and the rendered image URLs. Pages
+ * sharing a state display its product, so the reused pieces always match the product on the page, and cached image
+ * URLs are keyed by images of that same product.
+ *
+ * Each piece is built from the product the state was created for, the first time a page asks for it. A state may be
+ * shared by pages on several request threads. Two threads asking for a missing piece at the same time may both build
+ * it, and either copy is kept; every piece is immutable or synchronized, so that is safe.
+ */
+final class ProductPageState {
+
+    private final ProductV2 productV2;
+    private final ImageUrlCache imageUrlCache = new ImageUrlCache(ImageUrlCache.DEFAULT_MAX_ENTRIES);
+    private volatile SimilarProductsIndex similarProductsIndex;
+    private volatile ImageVariantIndex imageVariantIndex;
+    private volatile BuyingOptionSummary buyingOptionSummary;
+
+    /**
+     * Constructor.
+     *
+     * @param productV2 the product to derive state from
+     */
+    ProductPageState(ProductV2 productV2) {
+        this.productV2 = productV2;
+    }
+
+    /**
+     * Returns the product this state was derived from.
+     *
+     * @return the product
+     */
+    ProductV2 getProduct() {
+        return productV2;
+    }
+
+    /**
+     * Returns the cache of image URLs rendered for this product.
+     *
+     * @return the image URL cache
+     */
+    ImageUrlCache getImageUrlCache() {
+        return imageUrlCache;
+    }
+
+    /**
+     * Returns the similar products index, building it on first use. Products that keep their similar products in
+     * columns, such as {@link ColumnarProductStore} views, are indexed from those columns.
+     *
+     * @return the similar products index
+     */
+    SimilarProductsIndex getSimilarProductsIndex() {
+        SimilarProductsIndex index = similarProductsIndex;
+        if (index == null) {
+            if (productV2 instanceof ColumnarSimilarProducts) {
+                index = ((ColumnarSimilarProducts) productV2).buildSimilarProductsIndex();
+            } else {
+                index = SimilarProductsIndex.build(productV2.getSimilarProducts());
+            }
+            similarProductsIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the variant index for a product's images, building it the first time these images are seen. Pages built
+     * on this state pass the images of the state's own product, so the index is built once and then reused.
+     *
+     * @param productImages the product's images
+     * @return the variant index
+     */
+    ImageVariantIndex getImageVariantIndex(ProductImagesV2 productImages) {
+        ImageVariantIndex variantIndex = imageVariantIndex;
+        if (variantIndex == null || !variantIndex.isFor(productImages)) {
+            variantIndex = ImageVariantIndex.of(productImages);
+            imageVariantIndex = variantIndex;
+        }
+        return variantIndex;
+    }
+
+    /**
+     * Returns the buy box summary of the product's buying options, building it on first use.
+     *
+     * @return the buying option summary
+     */
+    BuyingOptionSummary getBuyingOptionSummary() {
+        BuyingOptionSummary summary = buyingOptionSummary;
+        if (summary == null) {
+            summary = BuyingOptionSummary.of(productV2.buyingOptions());
+            buyingOptionSummary = summary;
+        }
+        return summary;
+    }
+}
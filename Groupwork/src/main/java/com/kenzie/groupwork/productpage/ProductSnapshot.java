@@ -0,0 +1,574 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceCents;
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.StyledMedia;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Read-only, memory-mapped snapshot of a {@link ColumnarProductStore}: ASINs, prices, benefits, shipping programs,
+ * validity, image variants and sizes, and the similar product graph.
+ *
+ * A snapshot is written once with {@link #write(ColumnarProductStore, Path)}. {@link #load(Path)} maps the file with
+ * {@link FileChannel#map} rather than reading it, so loading costs the same however many products it holds, and the
+ * {@link ProductV2} views from {@link #product(int)} read straight from the page cache. A {@link ProductPage} for a
+ * snapshot product builds its similar products index from the mapped columns.
+ *
+ * The file holds one column after another, each indexed by product id, behind a fixed header:
+ * <pre>
+ * header         magic, version, products, similar edges, images, ASIN bytes, variants, reserved (8 ints)
+ * price cents    long[products], {@link PriceCents#NOT_REPRESENTABLE} for no price
+ * benefit cents  long[products], {@link PriceCents#NOT_REPRESENTABLE} for no benefit
+ * shipping mask  int[products]
+ * valid          byte[products]
+ * ASIN offsets   int[products + 1], into the ASIN bytes
+ * ASIN bytes     byte[ASIN bytes], UTF-8
+ * similar offs.  int[products + 1], into the similar ids
+ * similar ids    int[similar edges]
+ * image offsets  int[products + 1], into the image columns
+ * image variant  byte[images], index into the variant table
+ * image width    int[images]
+ * image height   int[images]
+ * variant table  variants x (unsigned short length, UTF-8 bytes), length 0xFFFF for no variant
+ * </pre>
+ * Snapshots are limited to 2GB, the most a single mapping can hold.
+ */
+public final class ProductSnapshot {
+
+    static final int MAGIC = 0x50505331;
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 8 * Integer.BYTES;
+    private static final int MAX_VARIANTS = 256;
+    private static final int NULL_VARIANT = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int priceCentsAt;
+    private final int benefitCentsAt;
+    private final int shippingMasksAt;
+    private final int validAt;
+    private final int asinOffsetsAt;
+    private final int asinBytesAt;
+    private final int similarOffsetsAt;
+    private final int similarIdsAt;
+    private final int imageOffsetsAt;
+    private final int imageVariantsAt;
+    private final int imageWidthsAt;
+    private final int imageHeightsAt;
+    private final String[] variants;
+
+    private ProductSnapshot(ByteBuffer buffer, Path path) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a product snapshot: " + path);
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported product snapshot version " + buffer.getInt(Integer.BYTES) + ": " + path);
+        }
+        size = buffer.getInt(2 * Integer.BYTES);
+        int edges = buffer.getInt(3 * Integer.BYTES);
+        int images = buffer.getInt(4 * Integer.BYTES);
+        int asinBytes = buffer.getInt(5 * Integer.BYTES);
+        int variantCount = buffer.getInt(6 * Integer.BYTES);
+
+        priceCentsAt = HEADER_BYTES;
+        benefitCentsAt = priceCentsAt + size * Long.BYTES;
+        shippingMasksAt = benefitCentsAt + size * Long.BYTES;
+        validAt = shippingMasksAt + size * Integer.BYTES;
+        asinOffsetsAt = validAt + size;
+        asinBytesAt = asinOffsetsAt + (size + 1) * Integer.BYTES;
+        similarOffsetsAt = asinBytesAt + asinBytes;
+        similarIdsAt = similarOffsetsAt + (size + 1) * Integer.BYTES;
+        imageOffsetsAt = similarIdsAt + edges * Integer.BYTES;
+        imageVariantsAt = imageOffsetsAt + (size + 1) * Integer.BYTES;
+        imageWidthsAt = imageVariantsAt + images;
+        imageHeightsAt = imageWidthsAt + images * Integer.BYTES;
+
+        int position = imageHeightsAt + images * Integer.BYTES;
+        variants = new String[variantCount];
+        for (int variant = 0; variant < variantCount; variant++) {
+            int length = Short.toUnsignedInt(buffer.getShort(position));
+            position += Short.BYTES;
+            if (length != NULL_VARIANT) {
+                variants[variant] = readString(position, length);
+                position += length;
+            }
+        }
+        if (position != buffer.capacity()) {
+            throw new IOException("Truncated or corrupt product snapshot: " + path);
+        }
+    }
+
+    /**
+     * Writes a snapshot of every product in a store.
+     *
+     * @param store the store to write
+     * @param path the file to write, replacing it if it exists
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the snapshot would be larger than 2GB, or has too many image variants
+     */
+    public static void write(ColumnarProductStore store, Path path) throws IOException {
+        int size = store.size();
+        List<byte[]> asins = new ArrayList<>(size);
+        long asinBytes = 0;
+        List<List<ProductImagesV2.Image>> images = new ArrayList<>(size);
+        Map<String, Integer> variants = new LinkedHashMap<>();
+        long imageCount = 0;
+        for (int id = 0; id < size; id++) {
+            byte[] asin = store.asin(id).getBytes(StandardCharsets.UTF_8);
+            asins.add(asin);
+            asinBytes += asin.length;
+            List<ProductImagesV2.Image> productImages = store.product(id).productImages()
+                .map(ProductImagesV2::images)
+                .orElse(Collections.emptyList());
+            images.add(productImages);
+            imageCount += productImages.size();
+            for (ProductImagesV2.Image image : productImages) {
+                variants.putIfAbsent(image.variant(), variants.size());
+            }
+        }
+        if (variants.size() > MAX_VARIANTS) {
+            throw new IllegalArgumentException("A snapshot holds at most " + MAX_VARIANTS + " image variants, got: " +
+                variants.size());
+        }
+        int edges = size == 0 ? 0 : store.similarEnd(size - 1);
+        long variantBytes = 0;
+        for (String variant : variants.keySet()) {
+            int length = variant == null ? 0 : variant.getBytes(StandardCharsets.UTF_8).length;
+            if (length >= NULL_VARIANT) {
+                throw new IllegalArgumentException("Image variants must be shorter than " + NULL_VARIANT +
+                    " UTF-8 bytes, got: " + length);
+            }
+            variantBytes += Short.BYTES + length;
+        }
+        // Checked before anything is written, so a snapshot too large to map never replaces the file.
+        fileBytes(size, edges, imageCount, asinBytes, variantBytes);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(edges);
+            out.writeInt((int) imageCount);
+            out.writeInt((int) asinBytes);
+            out.writeInt(variants.size());
+            out.writeInt(0);
+
+            for (int id = 0; id < size; id++) {
+                out.writeLong(store.priceCents(id));
+            }
+            for (int id = 0; id < size; id++) {
+                out.writeLong(store.benefitCents(id));
+            }
+            for (int id = 0; id < size; id++) {
+                out.writeInt(store.shippingMask(id));
+            }
+            for (int id = 0; id < size; id++) {
+                out.writeByte(store.isValid(id) ? 1 : 0);
+            }
+
+            int offset = 0;
+            out.writeInt(offset);
+            for (byte[] asin : asins) {
+                offset += asin.length;
+                out.writeInt(offset);
+            }
+            for (byte[] asin : asins) {
+                out.write(asin);
+            }
+
+            out.writeInt(0);
+            for (int id = 0; id < size; id++) {
+                out.writeInt(store.similarEnd(id));
+            }
+            for (int id = 0; id < size; id++) {
+                for (int edge = store.similarStart(id); edge < store.similarEnd(id); edge++) {
+                    out.writeInt(store.similarId(edge));
+                }
+            }
+
+            offset = 0;
+            out.writeInt(offset);
+            for (List<ProductImagesV2.Image> productImages : images) {
+                offset += productImages.size();
+                out.writeInt(offset);
+            }
+            for (List<ProductImagesV2.Image> productImages : images) {
+                for (ProductImagesV2.Image image : productImages) {
+                    out.writeByte(variants.get(image.variant()));
+                }
+            }
+            for (List<ProductImagesV2.Image> productImages : images) {
+                for (ProductImagesV2.Image image : productImages) {
+                    out.writeInt(Optional.ofNullable(image.lowRes()).map(StyledMedia::width).orElse(0));
+                }
+            }
+            for (List<ProductImagesV2.Image> productImages : images) {
+                for (ProductImagesV2.Image image : productImages) {
+                    out.writeInt(Optional.ofNullable(image.lowRes()).map(StyledMedia::height).orElse(0));
+                }
+            }
+
+            for (String variant : variants.keySet()) {
+                if (variant == null) {
+                    out.writeShort(NULL_VARIANT);
+                } else {
+                    byte[] bytes = variant.getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the size of a snapshot file, counting in longs so a store too large for one snapshot is caught rather
+     * than wrapping the int offsets and counts written to the file.
+     *
+     * @param size the number of products
+     * @param edges the number of similar product edges
+     * @param images the number of images
+     * @param asinBytes the number of UTF-8 bytes in the ASINs
+     * @param variantBytes the number of bytes in the variant table
+     * @return the size of the file in bytes
+     * @throws IllegalArgumentException if the file would be larger than 2GB
+     */
+    static int fileBytes(int size, int edges, long images, long asinBytes, long variantBytes) {
+        long columns = (long) size * (2 * Long.BYTES + Integer.BYTES + 1) +
+            3 * ((long) size + 1) * Integer.BYTES +
+            asinBytes +
+            (long) edges * Integer.BYTES +
+            images * (1 + 2 * Integer.BYTES) +
+            variantBytes;
+        long total = HEADER_BYTES + columns;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A snapshot holds at most 2GB, this one would be " + total +
+                " bytes (" + images + " images, " + asinBytes + " ASIN bytes)");
+        }
+        return (int) total;
+    }
+
+    /**
+     * Maps a snapshot file into memory. The file must not be changed while the snapshot is in use.
+     *
+     * @param path the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be mapped or is not a snapshot
+     */
+    public static ProductSnapshot load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Product snapshot is larger than 2GB: " + path);
+            }
+            // The mapping stays valid after the channel is closed.
+            return new ProductSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path);
+        }
+    }
+
+    /**
+     * Returns the number of products in this snapshot.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of one product.
+     *
+     * @param id the product id, from 0 to <code>size() - 1</code>
+     * @return the product
+     */
+    public ProductV2 product(int id) {
+        Objects.checkIndex(id, size);
+        return new SnapshotProduct(this, id);
+    }
+
+    private long priceCents(int id) {
+        return buffer.getLong(priceCentsAt + id * Long.BYTES);
+    }
+
+    private long benefitCents(int id) {
+        return buffer.getLong(benefitCentsAt + id * Long.BYTES);
+    }
+
+    private int shippingMask(int id) {
+        return buffer.getInt(shippingMasksAt + id * Integer.BYTES);
+    }
+
+    private boolean isValid(int id) {
+        return buffer.get(validAt + id) != 0;
+    }
+
+    private String asin(int id) {
+        int start = buffer.getInt(asinOffsetsAt + id * Integer.BYTES);
+        int end = buffer.getInt(asinOffsetsAt + (id + 1) * Integer.BYTES);
+        return readString(asinBytesAt + start, end - start);
+    }
+
+    private int similarStart(int id) {
+        return buffer.getInt(similarOffsetsAt + id * Integer.BYTES);
+    }
+
+    private int similarEnd(int id) {
+        return buffer.getInt(similarOffsetsAt + (id + 1) * Integer.BYTES);
+    }
+
+    private int similarId(int edge) {
+        return buffer.getInt(similarIdsAt + edge * Integer.BYTES);
+    }
+
+    private int imageStart(int id) {
+        return buffer.getInt(imageOffsetsAt + id * Integer.BYTES);
+    }
+
+    private int imageEnd(int id) {
+        return buffer.getInt(imageOffsetsAt + (id + 1) * Integer.BYTES);
+    }
+
+    private String imageVariant(int image) {
+        return variants[Byte.toUnsignedInt(buffer.get(imageVariantsAt + image))];
+    }
+
+    private int imageWidth(int image) {
+        return buffer.getInt(imageWidthsAt + image * Integer.BYTES);
+    }
+
+    private int imageHeight(int image) {
+        return buffer.getInt(imageHeightsAt + image * Integer.BYTES);
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return PriceCents.isExact(cents) ? BigDecimal.valueOf(cents, 2) : null;
+    }
+
+    /**
+     * {@link ProductV2} view of one product in a snapshot. Holds only the snapshot and the product id.
+     */
+    private static final class SnapshotProduct implements ProductV2, ColumnarSimilarProducts {
+        private final ProductSnapshot snapshot;
+        private final int id;
+        private Optional<ProductImagesV2> productImages;
+
+        SnapshotProduct(ProductSnapshot snapshot, int id) {
+            this.snapshot = snapshot;
+            this.id = id;
+        }
+
+        @Override
+        public SimilarProductsIndex buildSimilarProductsIndex() {
+            int start = snapshot.similarStart(id);
+            int end = snapshot.similarEnd(id);
+            List<ProductV2> validProducts = new ArrayList<>(end - start);
+            long[] prices = new long[end - start];
+            long[] benefits = new long[end - start];
+            int[] masks = new int[end - start];
+            for (int edge = start; edge < end; edge++) {
+                int similarId = snapshot.similarId(edge);
+                if (snapshot.isValid(similarId)) {
+                    int position = validProducts.size();
+                    prices[position] = snapshot.priceCents(similarId);
+                    benefits[position] = snapshot.benefitCents(similarId);
+                    masks[position] = snapshot.shippingMask(similarId);
+                    validProducts.add(new SnapshotProduct(snapshot, similarId));
+                }
+            }
+            return SimilarProductsIndex.fromCents(validProducts, prices, benefits, masks);
+        }
+
+        @Override
+        public String internalDatapathEntity() {
+            return null;
+        }
+
+        @Override
+        public String title() {
+            return null;
+        }
+
+        @Override
+        public List<BuyingOption> buyingOptions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String asin() {
+            return snapshot.asin(id);
+        }
+
+        @Override
+        public Optional<ProductImagesV2> productImages() {
+            // Kept so callers that index images per ProductImagesV2 instance see the same instance every time.
+            if (productImages == null) {
+                productImages = snapshot.imageStart(id) == snapshot.imageEnd(id) ?
+                    Optional.empty() : Optional.of(new SnapshotImages(snapshot, id));
+            }
+            return productImages;
+        }
+
+        @Override
+        public BigDecimal getTotalBenefitAmount() {
+            return toAmount(snapshot.benefitCents(id));
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return toAmount(snapshot.priceCents(id));
+        }
+
+        @Override
+        public List<ProductV2> getSimilarProducts() {
+            int start = snapshot.similarStart(id);
+            int count = snapshot.similarEnd(id) - start;
+            return new AbstractList<ProductV2>() {
+                @Override
+                public ProductV2 get(int index) {
+                    Objects.checkIndex(index, count);
+                    return new SnapshotProduct(snapshot, snapshot.similarId(start + index));
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public List<ShippingProgramEnum> getShippingPrograms() {
+            return ColumnarProductStore.shippingPrograms(snapshot.shippingMask(id));
+        }
+
+        @Override
+        public boolean isValid() {
+            return snapshot.isValid(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SnapshotProduct other = (SnapshotProduct) o;
+            return id == other.id && snapshot == other.snapshot;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(snapshot) + id;
+        }
+
+        @Override
+        public String toString() {
+            return asin();
+        }
+    }
+
+    private static final class SnapshotImages implements ProductImagesV2 {
+        private final ProductSnapshot snapshot;
+        private final int id;
+
+        SnapshotImages(ProductSnapshot snapshot, int id) {
+            this.snapshot = snapshot;
+            this.id = id;
+        }
+
+        @Override
+        public List<Image> images() {
+            int start = snapshot.imageStart(id);
+            int count = snapshot.imageEnd(id) - start;
+            return new AbstractList<Image>() {
+                @Override
+                public Image get(int index) {
+                    Objects.checkIndex(index, count);
+                    return new SnapshotImage(snapshot, start + index);
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public String altText() {
+            return null;
+        }
+    }
+
+    private static final class SnapshotImage implements ProductImagesV2.Image {
+        private final ProductSnapshot snapshot;
+        private final int image;
+
+        SnapshotImage(ProductSnapshot snapshot, int image) {
+            this.snapshot = snapshot;
+            this.image = image;
+        }
+
+        @Override
+        public StyledMedia lowRes() {
+            return new StyledMedia.Builder(snapshot.imageWidth(image), snapshot.imageHeight(image)).build();
+        }
+
+        @Override
+        public StyledMedia hiRes() {
+            return lowRes();
+        }
+
+        @Override
+        public String variant() {
+            return snapshot.imageVariant(image);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            SnapshotImage other = (SnapshotImage) o;
+            return image == other.image && snapshot == other.snapshot;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(snapshot) + image;
+        }
+    }
+}
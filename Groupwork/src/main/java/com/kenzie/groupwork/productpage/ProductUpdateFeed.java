@@ -0,0 +1,90 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers price, shipping and validity changes for individual products to the listeners subscribed to their ASINs.
+ *
+ * Updates are delivered on the publishing thread, in the order they are published.
+ */
+public class ProductUpdateFeed {
+
+    private final Map<String, List<ProductUpdateListener>> listenersByAsin = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribes a listener to changes for some products.
+     *
+     * @param asins the ASINs to receive changes for
+     * @param listener the listener
+     */
+    public void subscribe(Collection<String> asins, ProductUpdateListener listener) {
+        Objects.requireNonNull(listener, "listener is required");
+        for (String asin : asins) {
+            listenersByAsin.computeIfAbsent(asin, ignored -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+
+    /**
+     * Stops delivering changes for some products to a listener.
+     *
+     * @param asins the ASINs to stop receiving changes for
+     * @param listener the listener
+     */
+    public void unsubscribe(Collection<String> asins, ProductUpdateListener listener) {
+        for (String asin : asins) {
+            listenersByAsin.computeIfPresent(asin, (ignored, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+
+    /**
+     * Publishes a price change.
+     *
+     * @param asin the product's ASIN
+     * @param price the new price
+     */
+    public void publishPrice(String asin, BigDecimal price) {
+        for (ProductUpdateListener listener : listeners(asin)) {
+            listener.onPriceChanged(asin, price);
+        }
+    }
+
+    /**
+     * Publishes a shipping programs change.
+     *
+     * @param asin the product's ASIN
+     * @param shippingPrograms the new shipping programs
+     */
+    public void publishShipping(String asin, List<ShippingProgramEnum> shippingPrograms) {
+        for (ProductUpdateListener listener : listeners(asin)) {
+            listener.onShippingChanged(asin, shippingPrograms);
+        }
+    }
+
+    /**
+     * Publishes a validity change.
+     *
+     * @param asin the product's ASIN
+     * @param valid whether the product is now valid
+     */
+    public void publishValidity(String asin, boolean valid) {
+        for (ProductUpdateListener listener : listeners(asin)) {
+            listener.onValidityChanged(asin, valid);
+        }
+    }
+
+    private List<ProductUpdateListener> listeners(String asin) {
+        return listenersByAsin.getOrDefault(asin, Collections.emptyList());
+    }
+}
@@ -0,0 +1,36 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Receives changes to individual products from a {@link ProductUpdateFeed}.
+ */
+public interface ProductUpdateListener {
+
+    /**
+     * Called when a product's price changes.
+     *
+     * @param asin the product's ASIN
+     * @param price the new price, may be null
+     */
+    void onPriceChanged(String asin, BigDecimal price);
+
+    /**
+     * Called when the shipping programs a product is offered with change.
+     *
+     * @param asin the product's ASIN
+     * @param shippingPrograms the new shipping programs, may be null
+     */
+    void onShippingChanged(String asin, List<ShippingProgramEnum> shippingPrograms);
+
+    /**
+     * Called when a product becomes valid or invalid.
+     *
+     * @param asin the product's ASIN
+     * @param valid whether the product is now valid
+     */
+    void onValidityChanged(String asin, boolean valid);
+}
@@ -0,0 +1,297 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceCents;
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Pre-computed view over the similar products of a single ProductV2.
+ *
+ * Valid similar products are bucketed once by {@link PriceRangeEnum} and by {@link ShippingProgramEnum}, and the
+ * ordering for each {@link SortByEnum} is computed the first time it is asked for. A filtered, sorted page is then
+ * answered by intersecting buckets and walking the pre-sorted ordering, instead of re-validating, filtering and
+ * sorting the similar products on every call.
+ *
+ * Prices and benefit amounts are read once and kept as {@link PriceCents}, so bucketing and sorting compare longs
+ * and only fall back to BigDecimal for amounts with more than two decimal places.
+ */
+public class SimilarProductsIndex {
+
+    private static final Map<PriceRangeEnum, PriceRangeOption> PRICE_RANGE_OPTIONS = createPriceRangeOptions();
+
+    private final List<ProductV2> products;
+    private final BigDecimal[] prices;
+    private final long[] priceCents;
+    private final BigDecimal[] benefits;
+    private final long[] benefitCents;
+    private final Map<PriceRangeEnum, BitSet> priceBuckets = new EnumMap<>(PriceRangeEnum.class);
+    private final Map<ShippingProgramEnum, BitSet> shippingBuckets = new EnumMap<>(ShippingProgramEnum.class);
+    private final Map<SortByEnum, int[]> orderings = new EnumMap<>(SortByEnum.class);
+
+    private SimilarProductsIndex(List<ProductV2> products,
+                                 BigDecimal[] prices,
+                                 long[] priceCents,
+                                 BigDecimal[] benefits,
+                                 long[] benefitCents,
+                                 int[] shippingMasks) {
+        this.products = products;
+        this.prices = prices;
+        this.priceCents = priceCents;
+        this.benefits = benefits;
+        this.benefitCents = benefitCents;
+
+        for (PriceRangeEnum priceRange : PriceRangeEnum.values()) {
+            priceBuckets.put(priceRange, new BitSet(products.size()));
+        }
+        for (ShippingProgramEnum shippingProgram : ShippingProgramEnum.values()) {
+            shippingBuckets.put(shippingProgram, new BitSet(products.size()));
+        }
+
+        for (int position = 0; position < products.size(); position++) {
+            if (prices[position] != null || PriceCents.isExact(priceCents[position])) {
+                for (Map.Entry<PriceRangeEnum, PriceRangeOption> range : PRICE_RANGE_OPTIONS.entrySet()) {
+                    if (range.getValue().priceIsWithin(priceCents[position], prices[position])) {
+                        priceBuckets.get(range.getKey()).set(position);
+                    }
+                }
+            }
+            for (ShippingProgramEnum shippingProgram : ShippingProgramEnum.values()) {
+                if ((shippingMasks[position] & shippingProgram.mask()) != 0) {
+                    shippingBuckets.get(shippingProgram).set(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the index over the valid, non-null products of a similar products list.
+     *
+     * @param similarProducts the similar products to index, in relevance order. May be null.
+     * @return the index
+     */
+    public static SimilarProductsIndex build(List<ProductV2> similarProducts) {
+        List<ProductV2> validProducts = new ArrayList<>();
+        if (similarProducts != null) {
+            for (ProductV2 product : similarProducts) {
+                if (Objects.nonNull(product) && product.isValid()) {
+                    validProducts.add(product);
+                }
+            }
+        }
+
+        int size = validProducts.size();
+        BigDecimal[] prices = new BigDecimal[size];
+        long[] priceCents = new long[size];
+        BigDecimal[] benefits = new BigDecimal[size];
+        long[] benefitCents = new long[size];
+        int[] shippingMasks = new int[size];
+        for (int position = 0; position < size; position++) {
+            ProductV2 product = validProducts.get(position);
+            prices[position] = product.getPrice();
+            priceCents[position] = PriceCents.of(prices[position]);
+            benefits[position] = product.getTotalBenefitAmount();
+            benefitCents[position] = PriceCents.of(benefits[position]);
+            shippingMasks[position] = ShippingProgramEnum.maskOf(product.getShippingPrograms());
+        }
+        return new SimilarProductsIndex(Collections.unmodifiableList(validProducts),
+            prices, priceCents, benefits, benefitCents, shippingMasks);
+    }
+
+    /**
+     * Builds the index from column values that have already been read, for product sources that keep amounts as
+     * whole cents. Every product given must be valid.
+     *
+     * @param validProducts the valid similar products, in relevance order
+     * @param priceCents the price of each product in cents, or {@link PriceCents#NOT_REPRESENTABLE} for no price
+     * @param benefitCents the benefit of each product in cents, or {@link PriceCents#NOT_REPRESENTABLE} for none
+     * @param shippingMasks the shipping program bitmask of each product
+     * @return the index
+     */
+    static SimilarProductsIndex fromCents(List<ProductV2> validProducts,
+                                          long[] priceCents,
+                                          long[] benefitCents,
+                                          int[] shippingMasks) {
+        int size = validProducts.size();
+        // Amounts are always whole cents, so there are no BigDecimal amounts to fall back to.
+        return new SimilarProductsIndex(Collections.unmodifiableList(validProducts),
+            new BigDecimal[size], Arrays.copyOf(priceCents, size), new BigDecimal[size],
+            Arrays.copyOf(benefitCents, size), Arrays.copyOf(shippingMasks, size));
+    }
+
+    /**
+     * Returns the number of valid similar products in this index.
+     *
+     * @return the number of indexed products
+     */
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * Returns the indexed products in the given price range, shipped by any of the given programs, in sorted order.
+     *
+     * @param sortBy the order to return products in
+     * @param priceRange the price range products must fall in
+     * @param shippingPrograms the shipping programs a product must offer at least one of
+     * @return a new list of matching products
+     */
+    public List<ProductV2> query(SortByEnum sortBy,
+                                 PriceRangeEnum priceRange,
+                                 Collection<ShippingProgramEnum> shippingPrograms) {
+        return query(sortBy, priceRange, ShippingProgramEnum.maskOf(shippingPrograms), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns one page of the indexed products in the given price range, shipped by any of the programs in a
+     * shipping bitmask. The price bucket is intersected with the selected shipping buckets a word at a time, and the
+     * matching products are walked in sorted order only until the page is filled.
+     *
+     * @param sortBy the order to return products in
+     * @param priceRange the price range products must fall in
+     * @param shippingMask a bitmask of {@link ShippingProgramEnum#mask()} values a product must offer at least one of
+     * @param offset the number of matching products to skip
+     * @param limit the maximum number of products to return
+     * @return a new list with the requested page of matching products
+     */
+    public List<ProductV2> query(SortByEnum sortBy,
+                                 PriceRangeEnum priceRange,
+                                 int shippingMask,
+                                 int offset,
+                                 int limit) {
+        TopKSelector.validatePage(offset, limit);
+        List<ProductV2> matchingProducts = new ArrayList<>(Math.min(limit, products.size()));
+        if (limit == 0) {
+            return matchingProducts;
+        }
+        BitSet matching = matching(priceRange, shippingMask);
+        if (sortBy == null || sortBy == SortByEnum.RELEVANCE) {
+            // Relevance order is position order, so the matching bits can be walked directly.
+            int position = matching.nextSetBit(0);
+            for (int skipped = 0; position >= 0 && skipped < offset; skipped++) {
+                position = matching.nextSetBit(position + 1);
+            }
+            for (; position >= 0 && matchingProducts.size() < limit; position = matching.nextSetBit(position + 1)) {
+                matchingProducts.add(products.get(position));
+            }
+            return matchingProducts;
+        }
+        int skipped = 0;
+        for (int position : ordering(sortBy)) {
+            if (matching.get(position)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    matchingProducts.add(products.get(position));
+                    if (matchingProducts.size() == limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return matchingProducts;
+    }
+
+    /**
+     * Counts the indexed products behind every price range and shipping program filter. Price ranges are counted
+     * against the shipping bitmask and shipping programs against the price range, by intersecting buckets rather
+     * than visiting products.
+     *
+     * @param priceRange the selected price range
+     * @param shippingMask a bitmask of {@link ShippingProgramEnum#mask()} values for the selected shipping filter
+     * @return the facet counts
+     */
+    public FacetCounts facetCounts(PriceRangeEnum priceRange, int shippingMask) {
+        BitSet shipped = shippedBy(shippingMask);
+        int[] priceRangeCounts = new int[PriceRangeEnum.values().length];
+        for (PriceRangeEnum range : PriceRangeEnum.values()) {
+            priceRangeCounts[range.ordinal()] = intersectionSize(priceBuckets.get(range), shipped);
+        }
+        BitSet inRange = priceBuckets.get(priceRange);
+        int[] shippingProgramCounts = new int[ShippingProgramEnum.values().length];
+        for (ShippingProgramEnum shippingProgram : ShippingProgramEnum.values()) {
+            shippingProgramCounts[shippingProgram.ordinal()] =
+                intersectionSize(shippingBuckets.get(shippingProgram), inRange);
+        }
+        return new FacetCounts(priceRangeCounts, shippingProgramCounts, priceRangeCounts[priceRange.ordinal()]);
+    }
+
+    private static int intersectionSize(BitSet left, BitSet right) {
+        BitSet intersection = (BitSet) left.clone();
+        intersection.and(right);
+        return intersection.cardinality();
+    }
+
+    private BitSet matching(PriceRangeEnum priceRange, int shippingMask) {
+        BitSet matching = shippedBy(shippingMask);
+        matching.and(priceBuckets.get(priceRange));
+        return matching;
+    }
+
+    private BitSet shippedBy(int shippingMask) {
+        BitSet shipped = new BitSet(products.size());
+        for (ShippingProgramEnum shippingProgram : ShippingProgramEnum.values()) {
+            if ((shippingMask & shippingProgram.mask()) != 0) {
+                shipped.or(shippingBuckets.get(shippingProgram));
+            }
+        }
+        return shipped;
+    }
+
+    private synchronized int[] ordering(SortByEnum sortBy) {
+        if (sortBy == null) {
+            return relevanceOrdering();
+        }
+        switch (sortBy) {
+            case REWARD_LOW_TO_HIGH:
+            case REWARD_HIGH_TO_LOW:
+                return orderings.computeIfAbsent(sortBy, ignored ->
+                    SortKeys.sortPositions(benefitCents, benefits, sortBy == SortByEnum.REWARD_HIGH_TO_LOW));
+            case PRICE_LOW_TO_HIGH:
+            case PRICE_HIGH_TO_LOW:
+                return orderings.computeIfAbsent(sortBy, ignored ->
+                    SortKeys.sortPositions(priceCents, prices, sortBy == SortByEnum.PRICE_HIGH_TO_LOW));
+            default:
+                return relevanceOrdering();
+        }
+    }
+
+    private int[] relevanceOrdering() {
+        return orderings.computeIfAbsent(SortByEnum.RELEVANCE, ignored -> {
+            int[] positions = new int[products.size()];
+            Arrays.setAll(positions, position -> position);
+            return positions;
+        });
+    }
+
+    /**
+     * Returns the shared filter option for a price range.
+     *
+     * @param priceRange the price range
+     * @return the option filtering on that range
+     */
+    static PriceRangeOption priceRangeOption(PriceRangeEnum priceRange) {
+        return PRICE_RANGE_OPTIONS.get(priceRange);
+    }
+
+    private static Map<PriceRangeEnum, PriceRangeOption> createPriceRangeOptions() {
+        Map<PriceRangeEnum, PriceRangeOption> options = new EnumMap<>(PriceRangeEnum.class);
+        for (PriceRangeEnum priceRange : PriceRangeEnum.values()) {
+            options.put(priceRange, new PriceRangeOption(priceRange));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,306 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceCents;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorts products by price or reward using sort keys read once per product.
+ *
+ * Sorting with <code>Comparator.comparing(ProductV2::getPrice)</code> calls the getters and
+ * {@link BigDecimal#compareTo(BigDecimal)} twice per comparison. Here each product's amount is read once into a
+ * {@link PriceCents} key array, and an array of positions is merge sorted by comparing those longs; the products are
+ * then put in the sorted order. The sort is stable, so products with equal keys keep their relevance order.
+ *
+ * Amounts that are not a whole number of cents are compared as BigDecimals. Null amounts sort last in ascending
+ * order and first in descending order.
+ */
+public final class SortKeys {
+
+    private static final int INSERTION_SORT_RUN = 32;
+
+    private static final Map<SortByEnum, Comparator<ProductV2>> COMPARATOR_FOR_SORT_BY = createComparatorMap();
+
+    private SortKeys() {
+    }
+
+    /**
+     * Returns the products in the order for a sort option.
+     *
+     * @param products the products, in relevance order
+     * @param sortBy the order to put the products in; RELEVANCE or null keeps their order
+     * @return a new list of the products in sorted order
+     */
+    public static List<ProductV2> sorted(List<ProductV2> products, SortByEnum sortBy) {
+        if (!isKeyed(sortBy)) {
+            return new ArrayList<>(products);
+        }
+
+        long[] cents = new long[products.size()];
+        BigDecimal[] amounts = readKeys(products, sortBy, cents);
+        List<ProductV2> sorted = new ArrayList<>(products.size());
+        for (int position : sortPositions(cents, amounts, isDescending(sortBy))) {
+            sorted.add(products.get(position));
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns a comparator that orders products the way {@link #sorted(List, SortByEnum)} does, for callers that
+     * only have products to compare. It reads both products' amounts on every comparison, so paging and merging use
+     * {@link #page(List, SortByEnum, int, int)} and {@link SortedRun} instead, which read each amount once.
+     *
+     * @param sortBy the order to put the products in
+     * @return the comparator, or null for RELEVANCE or null, which keep the products' order
+     */
+    static Comparator<ProductV2> comparator(SortByEnum sortBy) {
+        return sortBy == null ? null : COMPARATOR_FOR_SORT_BY.get(sortBy);
+    }
+
+    /**
+     * Returns the products that would be at positions <code>[offset, offset + limit)</code> of
+     * {@link #sorted(List, SortByEnum)}, without sorting the whole list. Each product's amount is read once into a
+     * key array and the page is selected by comparing the keys of positions.
+     *
+     * @param products the products, in relevance order. Should be a random access list.
+     * @param sortBy the order to put the products in; RELEVANCE or null keeps their order
+     * @param offset the number of sorted products to skip
+     * @param limit the maximum number of products to return
+     * @return a new list with the selected page of products, in sorted order
+     */
+    static List<ProductV2> page(List<ProductV2> products, SortByEnum sortBy, int offset, int limit) {
+        if (!isKeyed(sortBy)) {
+            return TopKSelector.page(products, null, offset, limit);
+        }
+        long[] cents = new long[products.size()];
+        BigDecimal[] amounts = readKeys(products, sortBy, cents);
+        KeyOrder order = new KeyOrder(cents, amounts, isDescending(sortBy));
+        List<ProductV2> page = new ArrayList<>();
+        for (int position : TopKSelector.pagePositions(products.size(), order::compare, offset, limit)) {
+            page.add(products.get(position));
+        }
+        return page;
+    }
+
+    /**
+     * Sorts products into a run that keeps each product's key, so runs can be merged without reading the amounts
+     * again.
+     *
+     * @param products the products, in relevance order
+     * @param sortBy the order to put the products in; RELEVANCE or null keeps their order
+     * @return the sorted run
+     */
+    static SortedRun sortedRun(List<ProductV2> products, SortByEnum sortBy) {
+        if (!isKeyed(sortBy)) {
+            return new SortedRun(new ArrayList<>(products), null, null, false);
+        }
+        int size = products.size();
+        long[] cents = new long[size];
+        BigDecimal[] amounts = readKeys(products, sortBy, cents);
+        boolean descending = isDescending(sortBy);
+        int[] positions = sortPositions(cents, amounts, descending);
+
+        List<ProductV2> sorted = new ArrayList<>(size);
+        long[] sortedCents = new long[size];
+        BigDecimal[] sortedAmounts = new BigDecimal[size];
+        for (int rank = 0; rank < size; rank++) {
+            int position = positions[rank];
+            sorted.add(products.get(position));
+            sortedCents[rank] = cents[position];
+            sortedAmounts[rank] = amounts[position];
+        }
+        return new SortedRun(sorted, sortedCents, sortedAmounts, descending);
+    }
+
+    /**
+     * Returns the positions <code>0..n-1</code> ordered by their keys. Positions with equal keys stay in position
+     * order.
+     *
+     * @param cents the key of each position in cents, from {@link PriceCents#of(BigDecimal)}
+     * @param amounts the key of each position, used when its cents are not exact
+     * @param descending true to order from the largest key to the smallest
+     * @return the sorted positions
+     */
+    static int[] sortPositions(long[] cents, BigDecimal[] amounts, boolean descending) {
+        KeyOrder order = new KeyOrder(cents, amounts, descending);
+        int size = cents.length;
+        int[] positions = new int[size];
+        for (int position = 0; position < size; position++) {
+            positions[position] = position;
+        }
+
+        for (int runStart = 0; runStart < size; runStart += INSERTION_SORT_RUN) {
+            int runEnd = Math.min(runStart + INSERTION_SORT_RUN, size);
+            for (int i = runStart + 1; i < runEnd; i++) {
+                int position = positions[i];
+                int j = i - 1;
+                while (j >= runStart && order.compare(positions[j], position) > 0) {
+                    positions[j + 1] = positions[j];
+                    j--;
+                }
+                positions[j + 1] = position;
+            }
+        }
+
+        int[] source = positions;
+        int[] target = new int[size];
+        for (int width = INSERTION_SORT_RUN; width < size; width *= 2) {
+            for (int left = 0; left < size; left += 2 * width) {
+                int middle = Math.min(left + width, size);
+                int right = Math.min(left + 2 * width, size);
+                merge(order, source, target, left, middle, right);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source;
+    }
+
+    private static void merge(KeyOrder order, int[] source, int[] target, int left, int middle, int right) {
+        int leftIndex = left;
+        int rightIndex = middle;
+        int targetIndex = left;
+        while (leftIndex < middle && rightIndex < right) {
+            // Taking from the left on ties keeps equal keys in position order.
+            if (order.compare(source[leftIndex], source[rightIndex]) <= 0) {
+                target[targetIndex++] = source[leftIndex++];
+            } else {
+                target[targetIndex++] = source[rightIndex++];
+            }
+        }
+        System.arraycopy(source, leftIndex, target, targetIndex, middle - leftIndex);
+        System.arraycopy(source, rightIndex, target, targetIndex + middle - leftIndex, right - rightIndex);
+    }
+
+    private static boolean isKeyed(SortByEnum sortBy) {
+        return sortBy != null && sortBy != SortByEnum.RELEVANCE;
+    }
+
+    private static boolean isDescending(SortByEnum sortBy) {
+        return sortBy == SortByEnum.PRICE_HIGH_TO_LOW || sortBy == SortByEnum.REWARD_HIGH_TO_LOW;
+    }
+
+    private static BigDecimal[] readKeys(List<ProductV2> products, SortByEnum sortBy, long[] cents) {
+        boolean byPrice = sortBy == SortByEnum.PRICE_LOW_TO_HIGH || sortBy == SortByEnum.PRICE_HIGH_TO_LOW;
+        BigDecimal[] amounts = new BigDecimal[cents.length];
+        for (int position = 0; position < cents.length; position++) {
+            ProductV2 product = products.get(position);
+            amounts[position] = byPrice ? product.getPrice() : product.getTotalBenefitAmount();
+            cents[position] = PriceCents.of(amounts[position]);
+        }
+        return amounts;
+    }
+
+    private static Map<SortByEnum, Comparator<ProductV2>> createComparatorMap() {
+        Comparator<BigDecimal> nullsLast = Comparator.nullsLast(Comparator.naturalOrder());
+        Comparator<ProductV2> byReward = Comparator.comparing(ProductV2::getTotalBenefitAmount, nullsLast);
+        Comparator<ProductV2> byPrice = Comparator.comparing(ProductV2::getPrice, nullsLast);
+
+        Map<SortByEnum, Comparator<ProductV2>> comparatorMap = new EnumMap<>(SortByEnum.class);
+        comparatorMap.put(SortByEnum.REWARD_LOW_TO_HIGH, byReward);
+        comparatorMap.put(SortByEnum.REWARD_HIGH_TO_LOW, byReward.reversed());
+        comparatorMap.put(SortByEnum.PRICE_LOW_TO_HIGH, byPrice);
+        comparatorMap.put(SortByEnum.PRICE_HIGH_TO_LOW, byPrice.reversed());
+        return Collections.unmodifiableMap(comparatorMap);
+    }
+
+    /**
+     * Products in sorted order, with the key each one was sorted by.
+     */
+    static final class SortedRun {
+        private final List<ProductV2> products;
+        private final long[] cents;
+        private final BigDecimal[] amounts;
+        private final boolean descending;
+
+        private SortedRun(List<ProductV2> products, long[] cents, BigDecimal[] amounts, boolean descending) {
+            this.products = products;
+            this.cents = cents;
+            this.amounts = amounts;
+            this.descending = descending;
+        }
+
+        /**
+         * Returns the products in sorted order.
+         *
+         * @return the products
+         */
+        List<ProductV2> products() {
+            return products;
+        }
+
+        /**
+         * Merges this run with a run of the products that came after it, comparing the keys each run already
+         * holds. Products with equal keys keep this run's products first, so merging stable runs is stable.
+         *
+         * @param later a run sorted in the same order, of products that came after this run's products
+         * @return the merged run
+         */
+        SortedRun mergeWith(SortedRun later) {
+            int size = products.size() + later.products.size();
+            List<ProductV2> merged = new ArrayList<>(size);
+            if (cents == null) {
+                merged.addAll(products);
+                merged.addAll(later.products);
+                return new SortedRun(merged, null, null, false);
+            }
+
+            long[] mergedCents = new long[size];
+            BigDecimal[] mergedAmounts = new BigDecimal[size];
+            int leftIndex = 0;
+            int rightIndex = 0;
+            for (int rank = 0; rank < size; rank++) {
+                boolean takeLeft = rightIndex == later.products.size() ||
+                    leftIndex < products.size() && compare(leftIndex, later, rightIndex) <= 0;
+                SortedRun source = takeLeft ? this : later;
+                int index = takeLeft ? leftIndex++ : rightIndex++;
+                merged.add(source.products.get(index));
+                mergedCents[rank] = source.cents[index];
+                mergedAmounts[rank] = source.amounts[index];
+            }
+            return new SortedRun(merged, mergedCents, mergedAmounts, descending);
+        }
+
+        private int compare(int index, SortedRun other, int otherIndex) {
+            int comparison = PriceCents.compare(cents[index], amounts[index],
+                other.cents[otherIndex], other.amounts[otherIndex]);
+            return descending ? -comparison : comparison;
+        }
+    }
+
+    private static final class KeyOrder {
+        private final long[] cents;
+        private final BigDecimal[] amounts;
+        private final boolean descending;
+        private final boolean allExact;
+
+        KeyOrder(long[] cents, BigDecimal[] amounts, boolean descending) {
+            this.cents = cents;
+            this.amounts = amounts;
+            this.descending = descending;
+            boolean exact = true;
+            for (long key : cents) {
+                exact &= PriceCents.isExact(key);
+            }
+            this.allExact = exact;
+        }
+
+        int compare(int left, int right) {
+            int first = descending ? right : left;
+            int second = descending ? left : right;
+            if (allExact) {
+                return Long.compare(cents[first], cents[second]);
+            }
+            return PriceCents.compare(cents[first], amounts[first], cents[second], amounts[second]);
+        }
+    }
+}
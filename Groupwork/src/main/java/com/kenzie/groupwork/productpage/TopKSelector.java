@@ -0,0 +1,119 @@
+package com.kenzie.groupwork.productpage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects a single page of a sorted list without sorting the whole list.
+ *
+ * Only the first <code>offset + limit</code> items in sorted order are kept, in a bounded heap, so selecting a page
+ * costs O(n log(offset + limit)) instead of the O(n log n) of a full sort. Items that compare equal keep their
+ * original relative order, the same as a stable {@link List#sort(Comparator)} would give them.
+ */
+public final class TopKSelector {
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Returns the items that would be at positions <code>[offset, offset + limit)</code> if the list was sorted.
+     *
+     * @param items the items to select from. Should be a random access list.
+     * @param comparator the sort order, or null to keep the original order
+     * @param offset the number of sorted items to skip
+     * @param limit the maximum number of items to return
+     * @param <T> the type of item being selected
+     * @return a new list with the selected page of items, in sorted order
+     */
+    public static <T> List<T> page(List<T> items, Comparator<? super T> comparator, int offset, int limit) {
+        validatePage(offset, limit);
+        int end = (int) Math.min((long) offset + limit, items.size());
+        if (end <= offset) {
+            return new ArrayList<>();
+        }
+        if (comparator == null) {
+            return new ArrayList<>(items.subList(offset, end));
+        }
+
+        PositionOrder byItem = (left, right) -> comparator.compare(items.get(left), items.get(right));
+        List<T> page = new ArrayList<>(end - offset);
+        for (int position : pagePositions(items.size(), byItem, offset, limit)) {
+            page.add(items.get(position));
+        }
+        return page;
+    }
+
+    /**
+     * Returns the positions that would be at <code>[offset, offset + limit)</code> if the positions
+     * <code>0..size-1</code> were sorted. Callers that keep a sort key per position compare the keys directly
+     * instead of comparing the items again.
+     *
+     * @param size the number of positions
+     * @param positionOrder the sort order of two positions. Positions that compare equal stay in position order.
+     * @param offset the number of sorted positions to skip
+     * @param limit the maximum number of positions to return
+     * @return the selected page of positions, in sorted order
+     */
+    static int[] pagePositions(int size, PositionOrder positionOrder, int offset, int limit) {
+        validatePage(offset, limit);
+        int end = (int) Math.min((long) offset + limit, size);
+        if (end <= offset) {
+            return new int[0];
+        }
+
+        Comparator<Integer> byKeyThenPosition = (left, right) -> {
+            int comparison = positionOrder.compare(left, right);
+            return comparison != 0 ? comparison : Integer.compare(left, right);
+        };
+        // Max-heap holding the best `end` positions seen so far; the head is the worst of them.
+        PriorityQueue<Integer> best = new PriorityQueue<>(end, byKeyThenPosition.reversed());
+        for (int position = 0; position < size; position++) {
+            if (best.size() < end) {
+                best.add(position);
+            } else if (byKeyThenPosition.compare(position, best.peek()) < 0) {
+                best.poll();
+                best.add(position);
+            }
+        }
+
+        Integer[] sortedPositions = best.toArray(new Integer[0]);
+        Arrays.sort(sortedPositions, byKeyThenPosition);
+        int[] page = new int[end - offset];
+        for (int rank = offset; rank < end; rank++) {
+            page[rank - offset] = sortedPositions[rank];
+        }
+        return page;
+    }
+
+    /**
+     * Checks that a page request is well formed.
+     *
+     * @param offset the number of items to skip
+     * @param limit the maximum number of items to return
+     */
+    static void validatePage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must be >= 0, got: " + offset);
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be >= 0, got: " + limit);
+        }
+    }
+
+    /**
+     * Compares two positions by the keys of the items at them.
+     */
+    interface PositionOrder {
+        /**
+         * Compares the items at two positions.
+         *
+         * @param left the first position
+         * @param right the second position
+         * @return negative, zero or positive as the first item sorts before, with or after the second
+         */
+        int compare(int left, int right);
+    }
+}
@@ -0,0 +1,166 @@
+package com.kenzie.groupwork.productpage.catalog;
+
+import com.kenzie.groupwork.productpage.ColumnarProductStore;
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.StyledMedia;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Titles, buying options and images of {@link SyntheticCatalog} products, read from the catalog's arrays when they
+ * are asked for.
+ */
+final class CatalogDetails implements ColumnarProductStore.Details {
+
+    private final SyntheticCatalog catalog;
+
+    CatalogDetails(SyntheticCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public String title(int id) {
+        return "Synthetic product " + catalog.asin(id);
+    }
+
+    @Override
+    public String internalDatapathEntity(int id) {
+        return "synthetic/" + catalog.getSeed() + "/" + id;
+    }
+
+    @Override
+    public List<ProductV2.BuyingOption> buyingOptions(int id) {
+        int start = catalog.offerStart(id);
+        int count = catalog.offerEnd(id) - start;
+        return new AbstractList<ProductV2.BuyingOption>() {
+            @Override
+            public ProductV2.BuyingOption get(int index) {
+                Objects.checkIndex(index, count);
+                return new CatalogBuyingOption(catalog, start + index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public Optional<ProductImagesV2> productImages(int id) {
+        if (catalog.imageStart(id) == catalog.imageEnd(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(new CatalogImages(catalog, id));
+    }
+
+    private static final class CatalogBuyingOption implements ProductV2.BuyingOption {
+        private final SyntheticCatalog catalog;
+        private final int offer;
+
+        CatalogBuyingOption(SyntheticCatalog catalog, int offer) {
+            this.catalog = catalog;
+            this.offer = offer;
+        }
+
+        @Override
+        public String type() {
+            return catalog.offerType(offer);
+        }
+
+        @Override
+        public String merchant() {
+            return catalog.offerMerchant(offer);
+        }
+
+        @Override
+        public String freeReturnsPolicy() {
+            return catalog.offerFreeReturnsPolicy(offer);
+        }
+
+        @Override
+        public BigDecimal price() {
+            return BigDecimal.valueOf(catalog.offerPriceCents(offer), 2);
+        }
+    }
+
+    private static final class CatalogImages implements ProductImagesV2 {
+        private final SyntheticCatalog catalog;
+        private final int id;
+
+        CatalogImages(SyntheticCatalog catalog, int id) {
+            this.catalog = catalog;
+            this.id = id;
+        }
+
+        @Override
+        public List<Image> images() {
+            int start = catalog.imageStart(id);
+            int count = catalog.imageEnd(id) - start;
+            return new AbstractList<Image>() {
+                @Override
+                public Image get(int index) {
+                    Objects.checkIndex(index, count);
+                    return new CatalogImage(catalog, start + index);
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public String altText() {
+            return "Synthetic product " + catalog.asin(id);
+        }
+    }
+
+    private static final class CatalogImage implements ProductImagesV2.Image {
+        private final SyntheticCatalog catalog;
+        private final int image;
+
+        CatalogImage(SyntheticCatalog catalog, int image) {
+            this.catalog = catalog;
+            this.image = image;
+        }
+
+        @Override
+        public StyledMedia lowRes() {
+            return new StyledMedia.Builder(catalog.imageWidth(image), catalog.imageHeight(image)).build();
+        }
+
+        @Override
+        public StyledMedia hiRes() {
+            return lowRes();
+        }
+
+        @Override
+        public String variant() {
+            return catalog.imageVariant(image);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CatalogImage other = (CatalogImage) o;
+            return image == other.image && catalog == other.catalog;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(catalog) + image;
+        }
+    }
+}
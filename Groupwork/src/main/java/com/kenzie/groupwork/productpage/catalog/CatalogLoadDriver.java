@@ -0,0 +1,143 @@
+package com.kenzie.groupwork.productpage.catalog;
+
+import com.kenzie.groupwork.productpage.ProductPage;
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local load driver for {@link ProductPage} over a {@link SyntheticCatalog}.
+ *
+ * Each request renders a random product's page the way the detail page does: the main and LOOK image URLs and one
+ * filtered, sorted page of similar products. Prints throughput and latency percentiles when done.
+ *
+ * Run with <code>./gradlew :Groupwork:runMain -PmainClass=com.kenzie.groupwork.productpage.catalog.CatalogLoadDriver
+ * --args="PRODUCTS REQUESTS THREADS SEED"</code>. Every argument is optional.
+ */
+public final class CatalogLoadDriver {
+
+    private static final int DEFAULT_PRODUCTS = 1_000_000;
+    private static final int DEFAULT_REQUESTS = 1_000_000;
+    private static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final long DEFAULT_SEED = 25L;
+    private static final int PAGE_SIZE = 20;
+    private static final int[] IMAGE_SIZES = {160, 500};
+    private static final PrimeOption[] PRIME_OPTIONS = {
+        PrimeOption.ANY_SHIPPING,
+        new PrimeOption(Arrays.asList(ShippingProgramEnum.PRIME, ShippingProgramEnum.PRIMENOW))
+    };
+    private static final SortByEnum[] SORTS = SortByEnum.values();
+    private static final PriceRangeOption[] PRICE_RANGES = Arrays.stream(PriceRangeEnum.values())
+        .map(PriceRangeOption::new)
+        .toArray(PriceRangeOption[]::new);
+
+    private CatalogLoadDriver() {
+    }
+
+    /**
+     * Generates a catalog and drives product page requests against it.
+     *
+     * @param args optional number of products, number of requests, number of threads and random seed
+     * @throws InterruptedException if interrupted while waiting for the workers
+     * @throws ExecutionException if a request fails
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PRODUCTS;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REQUESTS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_THREADS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        long generateStart = System.nanoTime();
+        SyntheticCatalog catalog = SyntheticCatalog.builder().products(products).seed(seed).build();
+        System.out.printf("Generated %,d products in %,d ms%n", products,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - generateStart));
+
+        long[] latencies = run(catalog, requests, threads, seed);
+        report(latencies, threads);
+    }
+
+    /**
+     * Renders <code>requests</code> random product pages on <code>threads</code> threads.
+     *
+     * @param catalog the catalog to render pages from
+     * @param requests the total number of pages to render
+     * @param threads the number of threads rendering pages
+     * @param seed the random seed choosing products and filters
+     * @return the latency of every request in nanoseconds, followed by the total elapsed nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the workers
+     * @throws ExecutionException if a request fails
+     */
+    static long[] run(SyntheticCatalog catalog, int requests, int threads, long seed)
+        throws InterruptedException, ExecutionException {
+        long[] latencies = new long[requests + 1];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            long start = System.nanoTime();
+            for (int thread = 0; thread < threads; thread++) {
+                int first = (int) ((long) requests * thread / threads);
+                int last = (int) ((long) requests * (thread + 1) / threads);
+                SplittableRandom random = new SplittableRandom(seed + thread);
+                workers.add(executor.submit(() -> {
+                    for (int request = first; request < last; request++) {
+                        long requestStart = System.nanoTime();
+                        renderPage(catalog, random);
+                        latencies[request] = System.nanoTime() - requestStart;
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            latencies[requests] = System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+        return latencies;
+    }
+
+    private static int renderPage(SyntheticCatalog catalog, SplittableRandom random) {
+        ProductPage productPage = new ProductPage(catalog.product(random.nextInt(catalog.size())));
+        int imageSize = IMAGE_SIZES[random.nextInt(IMAGE_SIZES.length)];
+        int rendered = productPage.extractMainImageUrl(imageSize).map(String::length).orElse(0);
+        rendered += productPage.extractLookImageUrl(imageSize).map(String::length).orElse(0);
+        rendered += productPage.getSimilarProducts(SORTS[random.nextInt(SORTS.length)],
+            PRICE_RANGES[random.nextInt(PRICE_RANGES.length)],
+            PRIME_OPTIONS[random.nextInt(PRIME_OPTIONS.length)],
+            0,
+            PAGE_SIZE).size();
+        return rendered;
+    }
+
+    private static void report(long[] latencies, int threads) {
+        int requests = latencies.length - 1;
+        long elapsed = latencies[requests];
+        long[] sorted = Arrays.copyOf(latencies, requests);
+        Arrays.sort(sorted);
+        System.out.printf("Rendered %,d pages on %d threads in %,d ms (%,.0f pages/s)%n", requests, threads,
+            TimeUnit.NANOSECONDS.toMillis(elapsed), requests / (elapsed / 1e9));
+        System.out.printf("Latency us: p50=%,.1f p90=%,.1f p99=%,.1f p99.9=%,.1f max=%,.1f%n",
+            percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+            percentile(sorted, 0.999), sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e3);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e3;
+    }
+}
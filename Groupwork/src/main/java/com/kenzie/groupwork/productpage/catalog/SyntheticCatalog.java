@@ -0,0 +1,369 @@
+package com.kenzie.groupwork.productpage.catalog;
+
+import com.kenzie.groupwork.productpage.ColumnarProductStore;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, in-memory catalog of synthetic products for benchmarks and load tests.
+ *
+ * Prices, benefits, shipping programs, validity, ASINs and the similar product graph are kept in a
+ * {@link ColumnarProductStore}; offers, image sizes and variants are kept in primitive arrays indexed the same way.
+ * {@link #product(int)} hands out the store's small {@link ProductV2} views, so a catalog of millions of products
+ * costs a few dozen bytes per product instead of a graph of objects.
+ *
+ * The same seed and settings always generate the same catalog.
+ */
+public final class SyntheticCatalog {
+
+    static final String[] VARIANTS = {
+        "MAIN", "PT01", "PT02", "PT03", "PT04", "PT05", "PT06", "FRNT", "BACK", "LOOK"
+    };
+    static final String[] OFFER_TYPES = {"NEW", "USED", "RENEWED"};
+    static final String[] FREE_RETURNS_POLICIES = {null, "FREE_RETURNS"};
+
+    private static final int MIN_PRICE_CENTS = 100;
+    private static final int MAX_PRICE_CENTS = 50_000;
+    private static final int MERCHANTS = 5_000;
+    private static final int MIN_IMAGE_SIDE = 200;
+    private static final int MAX_IMAGE_SIDE = 2_000;
+    private static final int LOOK_VARIANT = VARIANTS.length - 1;
+
+    private final long seed;
+    private final int size;
+    private final ColumnarProductStore store;
+    private final int[] imageOffsets;
+    private final byte[] imageVariants;
+    private final short[] imageWidths;
+    private final short[] imageHeights;
+    private final int[] offerOffsets;
+    private final byte[] offerTypes;
+    private final short[] offerMerchants;
+    private final int[] offerPriceCents;
+    private final BitSet offerFreeReturns;
+
+    private SyntheticCatalog(Builder builder) {
+        this.seed = builder.seed;
+        this.size = builder.products;
+        SplittableRandom random = new SplittableRandom(builder.seed);
+
+        ColumnarProductStore.Builder products = ColumnarProductStore.builder().details(new CatalogDetails(this));
+        int[] priceCents = new int[size];
+        for (int id = 0; id < size; id++) {
+            // Log-uniform prices, so every PriceRangeEnum bucket has a useful share of the catalog.
+            double logPrice = Math.log(MIN_PRICE_CENTS) +
+                random.nextDouble() * (Math.log(MAX_PRICE_CENTS) - Math.log(MIN_PRICE_CENTS));
+            priceCents[id] = (int) Math.round(Math.exp(logPrice));
+            int benefitCents = random.nextInt(priceCents[id] / 10 + 1);
+            int shippingMask = randomShippingMask(random);
+            boolean valid = random.nextDouble() >= builder.invalidRate;
+            products.add(asin(id), priceCents[id], benefitCents, shippingMask, valid);
+        }
+
+        for (int id = 0; id < size; id++) {
+            int[] similarIds = new int[between(random, builder.minSimilar, builder.maxSimilar)];
+            for (int edge = 0; edge < similarIds.length; edge++) {
+                similarIds[edge] = random.nextInt(size);
+            }
+            products.similarProducts(id, similarIds);
+        }
+
+        imageOffsets = new int[size + 1];
+        for (int id = 0; id < size; id++) {
+            imageOffsets[id + 1] = imageOffsets[id] + between(random, builder.minImages, builder.maxImages);
+        }
+        int images = imageOffsets[size];
+        imageVariants = new byte[images];
+        imageWidths = new short[images];
+        imageHeights = new short[images];
+        for (int id = 0; id < size; id++) {
+            for (int image = imageOffsets[id]; image < imageOffsets[id + 1]; image++) {
+                // The first image is usually MAIN; the rest are a mix of the other variants, LOOK included.
+                imageVariants[image] = (byte) (image == imageOffsets[id] && random.nextInt(10) != 0 ?
+                    0 : 1 + random.nextInt(LOOK_VARIANT));
+                imageWidths[image] = (short) between(random, MIN_IMAGE_SIDE, MAX_IMAGE_SIDE);
+                imageHeights[image] = (short) between(random, MIN_IMAGE_SIDE, MAX_IMAGE_SIDE);
+            }
+        }
+
+        offerOffsets = new int[size + 1];
+        for (int id = 0; id < size; id++) {
+            offerOffsets[id + 1] = offerOffsets[id] + between(random, builder.minOffers, builder.maxOffers);
+        }
+        int offers = offerOffsets[size];
+        offerTypes = new byte[offers];
+        offerMerchants = new short[offers];
+        offerPriceCents = new int[offers];
+        offerFreeReturns = new BitSet(offers);
+        for (int id = 0; id < size; id++) {
+            for (int offer = offerOffsets[id]; offer < offerOffsets[id + 1]; offer++) {
+                offerTypes[offer] = (byte) random.nextInt(OFFER_TYPES.length);
+                offerMerchants[offer] = (short) random.nextInt(MERCHANTS);
+                offerPriceCents[offer] = Math.max(1, priceCents[id] + random.nextInt(priceCents[id] / 5 + 1) -
+                    priceCents[id] / 10);
+                if (random.nextBoolean()) {
+                    offerFreeReturns.set(offer);
+                }
+            }
+        }
+        store = products.build();
+    }
+
+    /**
+     * Returns a builder for a catalog.
+     *
+     * @return a builder with the default settings
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the seed this catalog was generated from.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of products in this catalog.
+     *
+     * @return the number of products
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of one product.
+     *
+     * @param id the product id, from 0 to <code>size() - 1</code>
+     * @return the product
+     */
+    public ProductV2 product(int id) {
+        return store.product(id);
+    }
+
+    /**
+     * Returns the columnar store holding this catalog's products.
+     *
+     * @return the store
+     */
+    public ColumnarProductStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns a list view of every product in the catalog, in id order. Products are created as they are read.
+     *
+     * @return the products
+     */
+    public List<ProductV2> products() {
+        return new AbstractList<ProductV2>() {
+            @Override
+            public ProductV2 get(int id) {
+                return product(id);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns the ASIN generated for a product id.
+     *
+     * @param id the product id
+     * @return the ASIN
+     */
+    public String asin(int id) {
+        String digits = Integer.toString(id, Character.MAX_RADIX).toUpperCase();
+        StringBuilder asin = new StringBuilder(10).append('B');
+        for (int padding = digits.length(); padding < 9; padding++) {
+            asin.append('0');
+        }
+        return asin.append(digits).toString();
+    }
+
+    int imageStart(int id) {
+        return imageOffsets[id];
+    }
+
+    int imageEnd(int id) {
+        return imageOffsets[id + 1];
+    }
+
+    String imageVariant(int image) {
+        return VARIANTS[imageVariants[image]];
+    }
+
+    int imageWidth(int image) {
+        return imageWidths[image];
+    }
+
+    int imageHeight(int image) {
+        return imageHeights[image];
+    }
+
+    int offerStart(int id) {
+        return offerOffsets[id];
+    }
+
+    int offerEnd(int id) {
+        return offerOffsets[id + 1];
+    }
+
+    String offerType(int offer) {
+        return OFFER_TYPES[offerTypes[offer]];
+    }
+
+    String offerMerchant(int offer) {
+        return "M" + offerMerchants[offer];
+    }
+
+    int offerPriceCents(int offer) {
+        return offerPriceCents[offer];
+    }
+
+    String offerFreeReturnsPolicy(int offer) {
+        return FREE_RETURNS_POLICIES[offerFreeReturns.get(offer) ? 1 : 0];
+    }
+
+    private static int randomShippingMask(SplittableRandom random) {
+        ShippingProgramEnum[] programs = ShippingProgramEnum.values();
+        int mask = 0;
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            mask |= programs[random.nextInt(programs.length)].mask();
+        }
+        return mask;
+    }
+
+    private static int between(SplittableRandom random, int min, int max) {
+        return min == max ? min : min + random.nextInt(max - min + 1);
+    }
+
+    /**
+     * Builder for {@link SyntheticCatalog}.
+     */
+    public static final class Builder {
+        private long seed = 25L;
+        private int products = 10_000;
+        private int minSimilar;
+        private int maxSimilar = 16;
+        private int minImages = 1;
+        private int maxImages = 8;
+        private int minOffers = 1;
+        private int maxOffers = 4;
+        private double invalidRate = 0.05;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the random seed.
+         *
+         * @param randomSeed the seed
+         * @return a reference to this builder
+         */
+        public Builder seed(long randomSeed) {
+            this.seed = randomSeed;
+            return this;
+        }
+
+        /**
+         * Sets the number of products.
+         *
+         * @param count the number of products, at least 1
+         * @return a reference to this builder
+         */
+        public Builder products(int count) {
+            if (count <= 0) {
+                throw new IllegalArgumentException("products must be > 0, got: " + count);
+            }
+            this.products = count;
+            return this;
+        }
+
+        /**
+         * Sets how many similar products each product has.
+         *
+         * @param min the fewest similar products
+         * @param max the most similar products
+         * @return a reference to this builder
+         */
+        public Builder similarProducts(int min, int max) {
+            checkRange("similarProducts", min, max, 0);
+            this.minSimilar = min;
+            this.maxSimilar = max;
+            return this;
+        }
+
+        /**
+         * Sets how many images each product has.
+         *
+         * @param min the fewest images
+         * @param max the most images
+         * @return a reference to this builder
+         */
+        public Builder images(int min, int max) {
+            checkRange("images", min, max, 0);
+            this.minImages = min;
+            this.maxImages = max;
+            return this;
+        }
+
+        /**
+         * Sets how many buying options each product has.
+         *
+         * @param min the fewest buying options
+         * @param max the most buying options
+         * @return a reference to this builder
+         */
+        public Builder buyingOptions(int min, int max) {
+            checkRange("buyingOptions", min, max, 0);
+            this.minOffers = min;
+            this.maxOffers = max;
+            return this;
+        }
+
+        /**
+         * Sets the share of products that are not valid.
+         *
+         * @param rate the share, from 0 to 1
+         * @return a reference to this builder
+         */
+        public Builder invalidRate(double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("invalidRate must be in [0, 1], got: " + rate);
+            }
+            this.invalidRate = rate;
+            return this;
+        }
+
+        /**
+         * Generates the catalog.
+         *
+         * @return the catalog
+         */
+        public SyntheticCatalog build() {
+            return new SyntheticCatalog(this);
+        }
+
+        private static void checkRange(String name, int min, int max, int lowest) {
+            if (min < lowest || max < min) {
+                throw new IllegalArgumentException(
+                    name + " range must satisfy " + lowest + " <= min <= max, got: [" + min + ", " + max + "]");
+            }
+        }
+    }
+}
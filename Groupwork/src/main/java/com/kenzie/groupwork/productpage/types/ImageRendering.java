@@ -0,0 +1,163 @@
+package com.kenzie.groupwork.productpage.types;
+
+import java.util.Objects;
+
+/**
+ * A single image rendering (scale to longest side, scale to square, or crop) that can be applied to many images.
+ *
+ * The style code fragment is rendered once when the rendering is created, so applying it to every image in a
+ * carousel only appends a String. The size arithmetic matches the {@link StyledMedia.Builder} method of the same name.
+ */
+public final class ImageRendering {
+
+    private enum Operation {
+        SCALE_TO_LONGEST,
+        SCALE_TO_SQUARE,
+        CROP
+    }
+
+    private final Operation operation;
+    private final int x;
+    private final int y;
+    private final int targetWidth;
+    private final int targetHeight;
+    private final String fragment;
+
+    private ImageRendering(Operation operation, int x, int y, int targetWidth, int targetHeight, String fragment) {
+        this.operation = operation;
+        this.x = x;
+        this.y = y;
+        this.targetWidth = targetWidth;
+        this.targetHeight = targetHeight;
+        this.fragment = fragment;
+    }
+
+    /**
+     * Scale images so that they are <code>side</code> pixels on the longest side, without enlarging them.
+     *
+     * @param side size in pixels for the longest side of the scaled image
+     * @return the rendering
+     * @see StyledMedia.Builder#scaleToLongest(int)
+     */
+    public static ImageRendering scaleToLongest(int side) {
+        if (side <= 0) {
+            throw new IllegalArgumentException("Cannot scale image to 0 pixels or less, got: " + side);
+        }
+        return new ImageRendering(Operation.SCALE_TO_LONGEST, 0, 0, side, side, StyleFragmentCache.shared()
+            .fragment(StyleFragmentCache.Style.SCALE_TO_LONGEST, side));
+    }
+
+    /**
+     * Scale images so that they are exactly <code>side</code> pixels by <code>side</code> pixels.
+     *
+     * @param side size in pixels for width and height of the scaled image
+     * @return the rendering
+     * @see StyledMedia.Builder#scaleToSquare(int)
+     */
+    public static ImageRendering scaleToSquare(int side) {
+        if (side <= 0) {
+            throw new IllegalArgumentException("Side must be a positive number.");
+        }
+        return new ImageRendering(Operation.SCALE_TO_SQUARE, 0, 0, side, side, StyleFragmentCache.shared()
+            .fragment(StyleFragmentCache.Style.SCALE_TO_SQUARE, side));
+    }
+
+    /**
+     * Crop images.
+     *
+     * @param x      part of the x,y pair for the top left corner of the cropped area in pixels (0 is the top left)
+     * @param y      part of the x,y pair for the top left corner of the cropped area in pixels (0 is the top left)
+     * @param scaledWidth  width of the cropped area
+     * @param scaledHeight height of the cropped area
+     * @return the rendering
+     * @see StyledMedia.Builder#crop(int, int, int, int)
+     */
+    public static ImageRendering crop(int x, int y, int scaledWidth, int scaledHeight) {
+        if (x < 0 || y < 0) {
+            throw new IllegalArgumentException("x,y coordinate of the top left corner must be >= 0");
+        }
+        if (scaledWidth <= 0 || scaledHeight <= 0) {
+            throw new IllegalArgumentException("Width and height of cropped area must be > 0");
+        }
+        return new ImageRendering(Operation.CROP, x, y, scaledWidth, scaledHeight,
+            StyleFragmentCache.shared()
+                .fragment(StyleFragmentCache.Style.CROP, x, y, scaledWidth, scaledHeight));
+    }
+
+    /**
+     * Returns the style code fragment this rendering adds to a URL.
+     *
+     * @return the style code fragment
+     */
+    public String fragment() {
+        return fragment;
+    }
+
+    /**
+     * Returns the width of an image after this rendering.
+     *
+     * @param width the original width
+     * @param height the original height
+     * @return the rendered width
+     */
+    int renderedWidth(int width, int height) {
+        switch (operation) {
+            case SCALE_TO_LONGEST:
+                if (width > height) {
+                    return targetWidth < width ? targetWidth : width;
+                }
+                return targetWidth < height ? targetWidth * width / height : width;
+            case SCALE_TO_SQUARE:
+                return targetWidth;
+            case CROP:
+                return Math.min(targetWidth, width - x);
+            default:
+                throw new IllegalStateException("Unknown rendering: " + operation);
+        }
+    }
+
+    /**
+     * Returns the height of an image after this rendering.
+     *
+     * @param width the original width
+     * @param height the original height
+     * @return the rendered height
+     */
+    int renderedHeight(int width, int height) {
+        switch (operation) {
+            case SCALE_TO_LONGEST:
+                if (width > height) {
+                    return targetHeight < width ? targetHeight * height / width : height;
+                }
+                return targetHeight < height ? targetHeight : height;
+            case SCALE_TO_SQUARE:
+                return targetHeight;
+            case CROP:
+                return Math.min(targetHeight, height - y);
+            default:
+                throw new IllegalStateException("Unknown rendering: " + operation);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ImageRendering that = (ImageRendering) o;
+        return operation == that.operation && fragment.equals(that.fragment);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, fragment);
+    }
+
+    @Override
+    public String toString() {
+        return fragment;
+    }
+}
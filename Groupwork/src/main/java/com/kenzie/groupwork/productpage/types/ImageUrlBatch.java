@@ -0,0 +1,72 @@
+package com.kenzie.groupwork.productpage.types;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the URLs for every image of a carousel at several renderings in one pass.
+ *
+ * Building each URL through its own {@link StyledMedia.Builder} re-derives the CDN, re-renders the style code and
+ * re-appends the URL prefix for every image and size. A batch derives the <code>https://CDN/images/I/</code> prefix
+ * once, each image's physical id prefix once per image, and each rendering's style code once, and then writes all
+ * URLs through a single reused buffer. The URLs are the same as
+ * <code>image.lowRes().styleBuilder().cdn(cdn).RENDERING.build().url()</code>.
+ */
+public class ImageUrlBatch {
+
+    private final String urlPrefix;
+    private final List<ImageRendering> renderings;
+
+    /**
+     * Constructor.
+     *
+     * @param cdnHost the CDN host that has the images, or null for the default CDN
+     * @param renderings the renderings to generate for each image
+     */
+    public ImageUrlBatch(String cdnHost, List<ImageRendering> renderings) {
+        this.urlPrefix = "https://" + (cdnHost == null ? StyledMedia.DEFAULT_CDN : cdnHost) + "/images/I/";
+        this.renderings = Collections.unmodifiableList(new ArrayList<>(renderings));
+    }
+
+    /**
+     * Generates the low resolution URLs of every image at every rendering.
+     *
+     * @param productImages the images to generate URLs for
+     * @return one map per image, in image order, from rendering to URL. Renderings that leave an image without a
+     *         URL are left out of its map.
+     */
+    public List<Map<ImageRendering, String>> render(ProductImagesV2 productImages) {
+        List<ProductImagesV2.Image> images = productImages.images();
+        if (images == null || images.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Map<ImageRendering, String>> urls = new ArrayList<>(images.size());
+        StringBuilder url = new StringBuilder(128).append(urlPrefix);
+        for (ProductImagesV2.Image image : images) {
+            StyledMedia media = image == null ? null : image.lowRes();
+            Map<ImageRendering, String> imageUrls = new LinkedHashMap<>();
+            if (media != null && media.width() != null && media.height() != null) {
+                url.setLength(urlPrefix.length());
+                url.append(media.physicalId()).append('.');
+                int renderingStart = url.length();
+                for (ImageRendering rendering : renderings) {
+                    int width = rendering.renderedWidth(media.width(), media.height());
+                    int height = rendering.renderedHeight(media.width(), media.height());
+                    if (width > 0 && height > 0) {
+                        url.setLength(renderingStart);
+                        url.append(rendering.fragment())
+                            .append("_.")
+                            .append(media.extension());
+                        imageUrls.put(rendering, url.toString());
+                    }
+                }
+            }
+            urls.add(imageUrls);
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,79 @@
+package com.kenzie.groupwork.productpage.types;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point view of prices and benefit amounts as a whole number of cents.
+ *
+ * Comparing two longs is much cheaper than {@link BigDecimal#compareTo(BigDecimal)}, so amounts that are looked at
+ * over and over (price range filters, price and reward sorts) are converted once and compared as cents. Amounts that
+ * cannot be represented exactly - null, more than two decimal places, or too large for a long - convert to
+ * {@link #NOT_REPRESENTABLE} and must be compared as BigDecimals instead.
+ */
+public final class PriceCents {
+
+    /**
+     * Marker for an amount that has no exact cents representation.
+     */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final int CENTS_SCALE = 2;
+
+    private PriceCents() {
+    }
+
+    /**
+     * Converts an amount to cents.
+     *
+     * @param amount the amount to convert, may be null
+     * @return the amount in cents, or {@link #NOT_REPRESENTABLE} if it cannot be represented exactly
+     */
+    public static long of(BigDecimal amount) {
+        if (amount == null) {
+            return NOT_REPRESENTABLE;
+        }
+        BigDecimal exact = amount;
+        if (exact.scale() > CENTS_SCALE) {
+            exact = exact.stripTrailingZeros();
+            if (exact.scale() > CENTS_SCALE) {
+                return NOT_REPRESENTABLE;
+            }
+        }
+        try {
+            return exact.movePointRight(CENTS_SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            return NOT_REPRESENTABLE;
+        }
+    }
+
+    /**
+     * Checks if a converted amount is an exact number of cents.
+     *
+     * @param cents a value returned by {@link #of(BigDecimal)}
+     * @return true if the value can be compared as cents
+     */
+    public static boolean isExact(long cents) {
+        return cents != NOT_REPRESENTABLE;
+    }
+
+    /**
+     * Compares two amounts, as cents when both are exact and as BigDecimals otherwise. Null amounts sort after
+     * all other amounts.
+     *
+     * @param leftCents the left amount in cents
+     * @param left the left amount
+     * @param rightCents the right amount in cents
+     * @param right the right amount
+     * @return a negative number, zero or a positive number as the left amount is less than, equal to or greater
+     *         than the right amount
+     */
+    public static int compare(long leftCents, BigDecimal left, long rightCents, BigDecimal right) {
+        if (isExact(leftCents) && isExact(rightCents)) {
+            return Long.compare(leftCents, rightCents);
+        }
+        if (left == null || right == null) {
+            return Boolean.compare(left == null, right == null);
+        }
+        return left.compareTo(right);
+    }
+}
@@ -37,12 +37,26 @@ public class PriceRangeOption {
     private final BigDecimal min;
     private final BigDecimal max;
 
+    private final long minCents;
+    private final long maxCents;
+
     public PriceRangeOption(final PriceRangeEnum value) {
         this.value = value;
         displayString = DISPLAY_STRINGS.get(value);
         final Pair<BigDecimal, BigDecimal> range = RANGES.get(value);
         min = range.getLeft();
         max = range.getRight();
+        minCents = PriceCents.of(min);
+        maxCents = PriceCents.of(max);
+    }
+
+    /**
+     * Returns the price range this option filters on.
+     *
+     * @return the price range
+     */
+    public PriceRangeEnum getValue() {
+        return value;
     }
 
     /**
@@ -54,4 +68,18 @@ public class PriceRangeOption {
     public boolean priceIsWithin(final BigDecimal price) {
         return (min == null || min.compareTo(price) <= 0) && (max == null || max.compareTo(price) >= 0);
     }
+
+    /**
+     * Checks if price is within price range, comparing cents when the price has an exact cents value.
+     *
+     * @param priceCents the price in cents, from {@link PriceCents#of(BigDecimal)}
+     * @param price the price, used when priceCents is not exact
+     * @return check result
+     */
+    public boolean priceIsWithin(final long priceCents, final BigDecimal price) {
+        if (!PriceCents.isExact(priceCents)) {
+            return priceIsWithin(price);
+        }
+        return (min == null || minCents <= priceCents) && (max == null || maxCents >= priceCents);
+    }
 }
@@ -1,21 +1,71 @@
 package com.kenzie.groupwork.productpage.types;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 public class PrimeOption {
 
     public static final String KEY = "pcb-offers-prime";
     public static final PrimeOption ANY_SHIPPING = new PrimeOption(Arrays.asList(ShippingProgramEnum.values()));
 
-    private List<ShippingProgramEnum> supportedShipping;
+    private final Set<ShippingProgramEnum> supportedShipping;
+    private final int supportedMask;
     private String url;
 
     public PrimeOption(final List<ShippingProgramEnum> supportedShipping) {
-        this.supportedShipping = supportedShipping;
+        this.supportedMask = ShippingProgramEnum.maskOf(supportedShipping);
+        EnumSet<ShippingProgramEnum> programs = EnumSet.noneOf(ShippingProgramEnum.class);
+        for (ShippingProgramEnum program : ShippingProgramEnum.values()) {
+            if ((supportedMask & program.mask()) != 0) {
+                programs.add(program);
+            }
+        }
+        this.supportedShipping = Collections.unmodifiableSet(programs);
+    }
+
+    /**
+     * Returns the shipping programs accepted by this option.
+     *
+     * @return the supported shipping programs
+     */
+    public Set<ShippingProgramEnum> getSupportedShipping() {
+        return supportedShipping;
+    }
+
+    /**
+     * Returns the shipping programs accepted by this option as a bitmask of {@link ShippingProgramEnum#mask()}.
+     *
+     * @return the supported shipping programs bitmask
+     */
+    public int getSupportedMask() {
+        return supportedMask;
     }
 
     public boolean matches(ShippingProgramEnum program) {
-        return supportedShipping.contains(program);
+        return program != null && (supportedMask & program.mask()) != 0;
+    }
+
+    /**
+     * Checks if any of a product's shipping programs is accepted by this option.
+     *
+     * @param programs the product's shipping programs, may be null
+     * @return true if at least one program is supported
+     */
+    public boolean matchesAny(Collection<ShippingProgramEnum> programs) {
+        return matchesMask(ShippingProgramEnum.maskOf(programs));
+    }
+
+    /**
+     * Checks if any of the shipping programs in a precomputed bitmask is accepted by this option.
+     *
+     * @param shippingMask a bitmask of {@link ShippingProgramEnum#mask()} values
+     * @return true if at least one program is supported
+     */
+    public boolean matchesMask(int shippingMask) {
+        return (supportedMask & shippingMask) != 0;
     }
 }
@@ -1,5 +1,7 @@
 package com.kenzie.groupwork.productpage.types;
 
+import java.util.Collection;
+
 public enum ShippingProgramEnum {
     ADDON,
     FRESH,
@@ -7,5 +9,32 @@ public enum ShippingProgramEnum {
     PRIME,
     PRIMENOW,
     NONPRIME,
-    UNKNOWN
+    UNKNOWN;
+
+    /**
+     * Returns the single bit representing this program in a shipping program bitmask.
+     *
+     * @return the bit for this program
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Combines shipping programs into a bitmask. Null programs are ignored.
+     *
+     * @param programs the shipping programs to combine, may be null
+     * @return a bitmask with the bit of each program set
+     */
+    public static int maskOf(Collection<ShippingProgramEnum> programs) {
+        int mask = 0;
+        if (programs != null) {
+            for (ShippingProgramEnum program : programs) {
+                if (program != null) {
+                    mask |= program.mask();
+                }
+            }
+        }
+        return mask;
+    }
 }
@@ -0,0 +1,216 @@
+package com.kenzie.groupwork.productpage.types;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Flyweight cache of rendered style code fragments, such as <code>_SL500</code> or <code>_CR0,0,100,100</code>.
+ *
+ * Pages ask for the same handful of renderings over and over, so each fragment is rendered once and appended as a
+ * cached String afterwards. Single-value styles are cached in a table per style for values up to
+ * <code>maxValue</code>. Multi-value styles (rectangles and crops) can take arbitrary values, so at most
+ * <code>maxEntries</code> of them are cached; fragments past either cap are rendered without being cached.
+ */
+public class StyleFragmentCache {
+
+    /**
+     * Default largest single value (such as a side length) cached per style.
+     */
+    public static final int DEFAULT_MAX_VALUE = 2048;
+
+    /**
+     * Default number of multi-value fragments cached.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private static final StyleFragmentCache SHARED = new StyleFragmentCache(DEFAULT_MAX_VALUE, DEFAULT_MAX_ENTRIES);
+
+    /**
+     * The style codes that take numeric parameters.
+     */
+    public enum Style {
+        CROP("_CR"),
+        BLUR("_BL"),
+        SCALE_TO_RECTANGLE("_SR"),
+        SCALE_TO_SQUARE("_SS"),
+        SCALE_TO_WIDTH("_SX"),
+        SCALE_TO_HEIGHT("_SY"),
+        SCALE_TO_LONGEST("_SL"),
+        UPSCALE_TO_HEIGHT("_UY"),
+        UPSCALE_TO_LONGEST("_UL"),
+        UPSCALE_TO_WIDTH("_UX");
+
+        private final String code;
+
+        Style(String code) {
+            this.code = code;
+        }
+
+        /**
+         * Returns the style code prefix, for example <code>_SL</code>.
+         *
+         * @return the style code
+         */
+        public String code() {
+            return code;
+        }
+    }
+
+    private final int maxValue;
+    private final int maxEntries;
+    private final Map<Style, String[]> singleValueFragments = new EnumMap<>(Style.class);
+    private final ConcurrentMap<Key, String> multiValueFragments = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param maxValue the largest single value cached per style
+     * @param maxEntries the number of multi-value fragments cached
+     */
+    public StyleFragmentCache(int maxValue, int maxEntries) {
+        if (maxValue < 0 || maxEntries < 0) {
+            throw new IllegalArgumentException("Cache caps must be >= 0");
+        }
+        this.maxValue = maxValue;
+        this.maxEntries = maxEntries;
+        for (Style style : Style.values()) {
+            singleValueFragments.put(style, new String[maxValue + 1]);
+        }
+    }
+
+    /**
+     * Returns the cache shared by every {@link StyledMedia.Builder} that was not given its own.
+     *
+     * @return the shared cache
+     */
+    public static StyleFragmentCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the fragment for a style with a single value.
+     *
+     * @param style the style
+     * @param value the style's value
+     * @return the fragment, for example <code>_SL500</code>
+     */
+    public String fragment(Style style, int value) {
+        if (value < 0 || value > maxValue) {
+            return style.code() + value;
+        }
+        String[] fragments = singleValueFragments.get(style);
+        String fragment = fragments[value];
+        if (fragment == null) {
+            // Racing threads may both render the fragment; either String is correct, so no locking is needed.
+            fragment = style.code() + value;
+            fragments[value] = fragment;
+        }
+        return fragment;
+    }
+
+    /**
+     * Returns the fragment for a style with two values.
+     *
+     * @param style the style
+     * @param first the style's first value
+     * @param second the style's second value
+     * @return the fragment, for example <code>_SR100,50</code>
+     */
+    public String fragment(Style style, int first, int second) {
+        return multiValueFragment(new Key(style, 2, first, second, 0, 0));
+    }
+
+    /**
+     * Returns the fragment for a style with four values.
+     *
+     * @param style the style
+     * @param first the style's first value
+     * @param second the style's second value
+     * @param third the style's third value
+     * @param fourth the style's fourth value
+     * @return the fragment, for example <code>_CR0,0,100,100</code>
+     */
+    public String fragment(Style style, int first, int second, int third, int fourth) {
+        return multiValueFragment(new Key(style, 4, first, second, third, fourth));
+    }
+
+    /**
+     * Returns the number of multi-value fragments cached.
+     *
+     * @return the number of cached multi-value fragments
+     */
+    public int multiValueSize() {
+        return multiValueFragments.size();
+    }
+
+    private String multiValueFragment(Key key) {
+        String fragment = multiValueFragments.get(key);
+        if (fragment != null) {
+            return fragment;
+        }
+        fragment = key.render();
+        if (multiValueFragments.size() < maxEntries) {
+            String cached = multiValueFragments.putIfAbsent(key, fragment);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return fragment;
+    }
+
+    private static final class Key {
+        private final Style style;
+        private final int count;
+        private final int first;
+        private final int second;
+        private final int third;
+        private final int fourth;
+
+        Key(Style style, int count, int first, int second, int third, int fourth) {
+            this.style = style;
+            this.count = count;
+            this.first = first;
+            this.second = second;
+            this.third = third;
+            this.fourth = fourth;
+        }
+
+        String render() {
+            StringBuilder rendered = new StringBuilder(style.code())
+                .append(first)
+                .append(',')
+                .append(second);
+            if (count == 4) {
+                rendered.append(',')
+                    .append(third)
+                    .append(',')
+                    .append(fourth);
+            }
+            return rendered.toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return style == other.style && count == other.count && first == other.first &&
+                second == other.second && third == other.third && fourth == other.fourth;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = style.hashCode();
+            hash = 31 * hash + first;
+            hash = 31 * hash + second;
+            hash = 31 * hash + third;
+            return 31 * hash + fourth;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.kenzie.groupwork.productpage.types;
 
+import com.kenzie.groupwork.productpage.types.StyleFragmentCache.Style;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 import java.util.Optional;
 
 public class StyledMedia implements MediaType {
+    static final String DEFAULT_CDN = "PROD";
+
     private String physicalId;
     private String extension;
     private String styleCode;
@@ -47,11 +53,18 @@ public class StyledMedia implements MediaType {
     }
 
     public Builder styleBuilder() {
-        return new Builder(this.width, this.height);
+        Builder builder = new Builder(this.width, this.height);
+        builder.physicalId = this.physicalId;
+        builder.extension = this.extension;
+        return builder;
     }
 
     public static final class Builder {
+        private static final ThreadLocal<StringBuilder> RENDER_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(128));
+
         private final StringBuilder rendering;
+        private StyleFragmentCache fragmentCache = StyleFragmentCache.shared();
         private String cdn;
         private String extension;
         private String s3Bucket;
@@ -81,33 +94,83 @@ public class StyledMedia implements MediaType {
          * @return Creates the StyledMedia with the provided configuration.
          */
         public StyledMedia build() {
-            if (width <= 0 || height <= 0) {
+            if (!hasUrl()) {
                 return new StyledMedia(null, width, height);
             }
 
-            StringBuilder url = new StringBuilder(128)
-                .append("https://")
+            StringBuilder url = new StringBuilder(128);
+            appendUrlTo(url);
+            return new StyledMedia(url.toString(), width, height);
+        }
+
+        /**
+         * Renders the URL for this Physical Id into a buffer owned by the calling thread, without allocating a
+         * StyledMedia or a String. The returned sequence is only valid until the next call to this method on the
+         * same thread; call <code>toString()</code> on it to keep the URL.
+         *
+         * @return the URL, or null if the media has no URL
+         */
+        public CharSequence renderUrl() {
+            if (!hasUrl()) {
+                return null;
+            }
+            StringBuilder url = RENDER_BUFFER.get();
+            url.setLength(0);
+            appendUrlTo(url);
+            return url;
+        }
+
+        /**
+         * Appends the URL for this Physical Id to a caller supplied buffer, the same URL {@link #build()} creates.
+         * Nothing is appended if the media has no URL.
+         *
+         * @param destination the buffer to append the URL to
+         * @return true if a URL was appended
+         */
+        public boolean appendUrlTo(StringBuilder destination) {
+            try {
+                return appendUrlTo((Appendable) destination);
+            } catch (IOException e) {
+                // A StringBuilder never throws IOException.
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Appends the URL for this Physical Id to any Appendable, such as a {@link java.nio.CharBuffer} or a
+         * Writer. Nothing is appended if the media has no URL.
+         *
+         * @param destination where to append the URL
+         * @return true if a URL was appended
+         * @throws IOException if the destination fails to append
+         */
+        public boolean appendUrlTo(Appendable destination) throws IOException {
+            if (!hasUrl()) {
+                return false;
+            }
+
+            destination.append("https://")
                 .append(deriveCdn());
 
             if (s3Bucket != null) {
-                url.append("/images/S/")
+                destination.append("/images/S/")
                     .append(s3Bucket)
                     .append("/")
                     .append(physicalId);
                 // TODO: use physicalId, or introduce a new field (name, resourcePath, s3object, s3Path, etc ?)
                 if (rendering.length() > 0) {
-                    url.append('.')
+                    destination.append('.')
                         .append(rendering);
                 }
             } else if (name == null) {
-                url.append("/images/I/")
+                destination.append("/images/I/")
                     .append(physicalId);
                 if (rendering.length() > 0) {
-                    url.append('.')
+                    destination.append('.')
                         .append(rendering);
                 }
             } else {
-                url.append("/images/G/")
+                destination.append("/images/G/")
                     .append(orgUnit)
                     .append('/')
                     .append(name)
@@ -117,13 +180,16 @@ public class StyledMedia implements MediaType {
             }
 
             if (cacheBypassTag != null || rendering.length() > 0) {
-                url.append('_');
+                destination.append('_');
             }
 
-            url.append('.')
+            destination.append('.')
                 .append(extension);
+            return true;
+        }
 
-            return new StyledMedia(url.toString(), width, height);
+        private boolean hasUrl() {
+            return width > 0 && height > 0;
         }
 
         /**
@@ -137,6 +203,17 @@ public class StyledMedia implements MediaType {
             return this;
         }
 
+        /**
+         * Sets the cache of style code fragments to render with, instead of the shared cache.
+         *
+         * @param cache the fragment cache to use
+         * @return A Builder using the given fragment cache.
+         */
+        public Builder fragmentCache(StyleFragmentCache cache) {
+            this.fragmentCache = Objects.requireNonNull(cache, "cache is required");
+            return this;
+        }
+
         /**
          * If you want to build a path-based URL like
          * https://g-ecx.images-amazon.com/images/G/01/kindle/merch/2017/919357422668451/VX-1020-ML_GW-Takeover-660px-1X_V3._CB515800720_.jpg
@@ -176,14 +253,7 @@ public class StyledMedia implements MediaType {
             }
             this.width = Math.min(scaledWidth, this.width - x);
             this.height = Math.min(scaledHeight, this.height - y);
-            rendering.append("_CR")
-                .append(x)
-                .append(",")
-                .append(y)
-                .append(",")
-                .append(scaledWidth)
-                .append(",")
-                .append(scaledHeight);
+            rendering.append(fragmentCache.fragment(Style.CROP, x, y, scaledWidth, scaledHeight));
             return this;
         }
 
@@ -214,8 +284,7 @@ public class StyledMedia implements MediaType {
             if (percent <= 0 || percent >= 100) {
                 throw new IllegalArgumentException("Blur percent must be in the range [1-100]");
             } else {
-                rendering.append("_BL")
-                    .append(percent);
+                rendering.append(fragmentCache.fragment(Style.BLUR, percent));
             }
             return this;
         }
@@ -242,10 +311,7 @@ public class StyledMedia implements MediaType {
             }
             this.width = scaledWidth;
             this.height = scaledHeight;
-            rendering.append("_SR")
-                .append(scaledWidth)
-                .append(",")
-                .append(scaledHeight);
+            rendering.append(fragmentCache.fragment(Style.SCALE_TO_RECTANGLE, scaledWidth, scaledHeight));
             return this;
         }
 
@@ -267,8 +333,7 @@ public class StyledMedia implements MediaType {
             }
             this.width = side;
             this.height = side;
-            rendering.append("_SS")
-                .append(side);
+            rendering.append(fragmentCache.fragment(Style.SCALE_TO_SQUARE, side));
             return this;
         }
 
@@ -290,8 +355,7 @@ public class StyledMedia implements MediaType {
                 this.height = scaledWidth * this.height / this.width;
                 this.width = scaledWidth;
             }
-            rendering.append("_SX")
-                .append(scaledWidth);
+            rendering.append(fragmentCache.fragment(Style.SCALE_TO_WIDTH, scaledWidth));
             return this;
         }
 
@@ -313,8 +377,7 @@ public class StyledMedia implements MediaType {
                 this.width = scaledHeight * this.width / this.height;
                 this.height = scaledHeight;
             }
-            rendering.append("_SY")
-                .append(scaledHeight);
+            rendering.append(fragmentCache.fragment(Style.SCALE_TO_HEIGHT, scaledHeight));
             return this;
         }
 
@@ -340,8 +403,7 @@ public class StyledMedia implements MediaType {
                 width = side * width / height;
                 height = side;
             }
-            rendering.append("_SL")
-                .append(side);
+            rendering.append(fragmentCache.fragment(Style.SCALE_TO_LONGEST, side));
             return this;
         }
 
@@ -361,8 +423,7 @@ public class StyledMedia implements MediaType {
             }
             this.width = this.height > 0 ? scaledHeight * this.width / this.height : 0;
             this.height = scaledHeight;
-            rendering.append("_UY")
-                .append(scaledHeight);
+            rendering.append(fragmentCache.fragment(Style.UPSCALE_TO_HEIGHT, scaledHeight));
             return this;
         }
 
@@ -388,8 +449,7 @@ public class StyledMedia implements MediaType {
                 width = height > 0 ? side * width / height : 0;
                 height = side;
             }
-            rendering.append("_UL")
-                .append(side);
+            rendering.append(fragmentCache.fragment(Style.UPSCALE_TO_LONGEST, side));
             return this;
         }
 
@@ -411,8 +471,7 @@ public class StyledMedia implements MediaType {
             }
             this.height = this.width > 0 ? scaledWidth * this.height / this.width : 0;
             this.width = scaledWidth;
-            rendering.append("_UX")
-                .append(scaledWidth);
+            rendering.append(fragmentCache.fragment(Style.UPSCALE_TO_WIDTH, scaledWidth));
             return this;
         }
 
@@ -430,7 +489,7 @@ public class StyledMedia implements MediaType {
         }
 
         private String deriveCdn() {
-            return Optional.ofNullable(cdn).orElse("PROD");
+            return Optional.ofNullable(cdn).orElse(DEFAULT_CDN);
         }
     }
 }
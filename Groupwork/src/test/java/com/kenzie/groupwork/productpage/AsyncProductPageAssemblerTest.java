@@ -0,0 +1,138 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AsyncProductPageAssemblerTest {
+
+    private static final Integer LONGEST_DIMENSION = 500;
+    private static final PriceRangeOption ANY_PRICE = new PriceRangeOption(PriceRangeEnum.ANY);
+
+    private ProductPage productPage;
+    private ProductV2.BuyingOption buyingOption;
+    private List<ProductV2> similarProducts;
+
+    @BeforeEach
+    public void setup() {
+        productPage = mock(ProductPage.class);
+        buyingOption = mock(ProductV2.BuyingOption.class);
+        similarProducts = Collections.singletonList(mock(ProductV2.class));
+        when(productPage.getFirstBuyingOption()).thenReturn(Optional.of(buyingOption));
+        when(productPage.extractMainImageUrl(LONGEST_DIMENSION)).thenReturn(Optional.of("main.jpg"));
+        when(productPage.extractLookImageUrl(LONGEST_DIMENSION)).thenReturn(Optional.of("look.jpg"));
+        when(productPage.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE, PrimeOption.ANY_SHIPPING))
+            .thenReturn(similarProducts);
+    }
+
+    @Test
+    public void assemble_allPiecesSucceed_returnsCompletePage() {
+        // GIVEN
+        AsyncProductPageAssembler assembler = new AsyncProductPageAssembler(Runnable::run, Duration.ofSeconds(1));
+
+        // WHEN
+        AssembledProductPage page = assemble(assembler);
+
+        // THEN
+        assertTrue(page.isComplete(), "Every piece should have been computed!");
+        assertEquals(buyingOption, page.getFirstBuyingOption().get(), "The winning buying option should be kept!");
+        assertEquals("main.jpg", page.getMainImageUrl().get(), "The main image URL should be kept!");
+        assertEquals("look.jpg", page.getLookImageUrl().get(), "The LOOK image URL should be kept!");
+        assertEquals(similarProducts, page.getSimilarProducts(), "The similar products should be kept!");
+    }
+
+    @Test
+    public void assemble_pieceThrows_fallsBackForThatPieceOnly() {
+        // GIVEN
+        when(productPage.extractMainImageUrl(LONGEST_DIMENSION)).thenThrow(new IllegalStateException("no images"));
+        AsyncProductPageAssembler assembler = new AsyncProductPageAssembler(Runnable::run, Duration.ofSeconds(1));
+
+        // WHEN
+        AssembledProductPage page = assemble(assembler);
+
+        // THEN
+        assertEquals(EnumSet.of(ProductPagePart.MAIN_IMAGE_URL), page.getMissingParts(),
+            "Only the failed piece should be missing!");
+        assertFalse(page.getMainImageUrl().isPresent(), "The failed piece should fall back to empty!");
+        assertEquals("look.jpg", page.getLookImageUrl().get(), "Other pieces should still be returned!");
+    }
+
+    @Test
+    public void assemble_slowPiece_timesOutWithPartialPage() throws InterruptedException {
+        // GIVEN
+        CountDownLatch release = new CountDownLatch(1);
+        when(productPage.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE, PrimeOption.ANY_SHIPPING))
+            .thenAnswer(invocation -> {
+                release.await();
+                return similarProducts;
+            });
+        ExecutorService executor = AsyncProductPageAssembler.newBoundedExecutor(4, 4);
+        AsyncProductPageAssembler assembler = new AsyncProductPageAssembler(executor, Duration.ofMillis(50));
+
+        // WHEN
+        AssembledProductPage page;
+        try {
+            page = assemble(assembler);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        // THEN
+        assertEquals(EnumSet.of(ProductPagePart.SIMILAR_PRODUCTS), page.getMissingParts(),
+            "Only the slow piece should be missing!");
+        assertTrue(page.getSimilarProducts().isEmpty(), "The slow piece should fall back to an empty list!");
+        assertEquals(buyingOption, page.getFirstBuyingOption().get(), "Fast pieces should still be returned!");
+    }
+
+    @Test
+    public void assemble_executorRejects_returnsEmptyPage() {
+        // GIVEN
+        AsyncProductPageAssembler assembler = new AsyncProductPageAssembler(runnable -> {
+            throw new RejectedExecutionException("full");
+        }, Duration.ofSeconds(1));
+
+        // WHEN
+        AssembledProductPage page = assemble(assembler);
+
+        // THEN
+        assertEquals(EnumSet.allOf(ProductPagePart.class), page.getMissingParts(),
+            "Rejected pieces should all be missing!");
+    }
+
+    @Test
+    public void constructor_zeroTimeout_throwsIllegalArgumentException() {
+        // GIVEN
+        Duration noTime = Duration.ZERO;
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> new AsyncProductPageAssembler(Runnable::run, noTime),
+            "A zero timeout should be rejected!");
+    }
+
+    private AssembledProductPage assemble(AsyncProductPageAssembler assembler) {
+        return assembler.assemble(productPage, LONGEST_DIMENSION, SortByEnum.RELEVANCE, ANY_PRICE,
+            PrimeOption.ANY_SHIPPING).join();
+    }
+}
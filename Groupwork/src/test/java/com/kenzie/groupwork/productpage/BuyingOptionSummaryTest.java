@@ -0,0 +1,105 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BuyingOptionSummaryTest {
+
+    private ProductV2.BuyingOption newFromAmazon;
+    private ProductV2.BuyingOption cheaperNew;
+    private ProductV2.BuyingOption usedFromAmazon;
+    private ProductV2.BuyingOption unpricedUsed;
+
+    @BeforeEach
+    public void setup() {
+        newFromAmazon = mockBuyingOption("NEW", "Amazon", BigDecimal.valueOf(20.0), "FREE_RETURNS");
+        cheaperNew = mockBuyingOption("NEW", "Seller", BigDecimal.valueOf(18.5), null);
+        usedFromAmazon = mockBuyingOption("USED", "Amazon", BigDecimal.valueOf(12.0), " ");
+        unpricedUsed = mockBuyingOption("USED", "Seller", null, "FREE_RETURNS");
+    }
+
+    @Test
+    public void of_populatedOptions_summarizesBuyBox() {
+        // GIVEN
+        BuyingOptionSummary summary = BuyingOptionSummary.of(
+            Arrays.asList(newFromAmazon, cheaperNew, null, usedFromAmazon, unpricedUsed));
+
+        // WHEN + THEN
+        assertEquals(newFromAmazon, summary.getWinner().get(), "The first option should win the buy box!");
+        assertEquals(cheaperNew, summary.getCheapest("NEW").get(), "The cheaper new option should be picked!");
+        assertEquals(usedFromAmazon, summary.getCheapest("USED").get(),
+            "Options without a price should not be the cheapest!");
+        assertFalse(summary.getCheapest("RENEWED").isPresent(), "Missing types should have no cheapest option!");
+        assertEquals(Arrays.asList(newFromAmazon, unpricedUsed), summary.getFreeReturnsOptions(),
+            "Only options with a free returns policy should be listed!");
+        assertEquals(Arrays.asList(newFromAmazon, usedFromAmazon), summary.getOptionsByMerchant("Amazon"),
+            "Options should be grouped by merchant in their original order!");
+    }
+
+    @Test
+    public void of_equalPrices_keepsFirstListed() {
+        // GIVEN
+        ProductV2.BuyingOption sameAsAmazon = mockBuyingOption("NEW", "Other", BigDecimal.valueOf(20.00), null);
+
+        // WHEN
+        BuyingOptionSummary summary = BuyingOptionSummary.of(Arrays.asList(newFromAmazon, sameAsAmazon));
+
+        // THEN
+        assertEquals(newFromAmazon, summary.getCheapest("NEW").get(), "Ties should go to the first option listed!");
+    }
+
+    @Test
+    public void of_nullOptions_returnsEmptySummary() {
+        // GIVEN - no buying options
+
+        // WHEN
+        BuyingOptionSummary summary = BuyingOptionSummary.of(null);
+
+        // THEN
+        assertFalse(summary.getWinner().isPresent(), "Null buying options should have no winner!");
+        assertTrue(summary.getCheapestByType().isEmpty(), "Null buying options should have no cheapest options!");
+        assertTrue(summary.getOptionsByMerchant("Amazon").isEmpty(), "Null buying options have no merchants!");
+    }
+
+    @Test
+    public void getFirstBuyingOption_calledRepeatedly_readsBuyingOptionsOnce() {
+        // GIVEN
+        ProductV2 productV2 = mock(ProductV2.class);
+        when(productV2.buyingOptions()).thenReturn(Collections.singletonList(newFromAmazon));
+        ProductPage productPage = new ProductPage(productV2);
+
+        // WHEN
+        productPage.getFirstBuyingOption();
+        productPage.getFirstBuyingOption();
+        productPage.getBuyingOptionSummary();
+
+        // THEN
+        verify(productV2, times(1)).buyingOptions();
+        assertEquals(newFromAmazon, productPage.getFirstBuyingOption().get(),
+            "The cached summary should keep the winning option!");
+    }
+
+    private ProductV2.BuyingOption mockBuyingOption(String type, String merchant, BigDecimal price,
+                                                    String freeReturnsPolicy) {
+        ProductV2.BuyingOption buyingOption = mock(ProductV2.BuyingOption.class);
+        when(buyingOption.type()).thenReturn(type);
+        when(buyingOption.merchant()).thenReturn(merchant);
+        when(buyingOption.price()).thenReturn(price);
+        when(buyingOption.freeReturnsPolicy()).thenReturn(freeReturnsPolicy);
+        return buyingOption;
+    }
+}
@@ -0,0 +1,131 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.FRESH;
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.NONPRIME;
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.PRIME;
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.PRIMENOW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ColumnarProductStoreTest {
+
+    private static final PrimeOption PRIME_ONLY = new PrimeOption(Arrays.asList(PRIME, PRIMENOW));
+
+    private ColumnarProductStore store;
+
+    @BeforeEach
+    public void setup() {
+        ColumnarProductStore.Builder builder = ColumnarProductStore.builder();
+        int main = builder.add("B000MAIN00", BigDecimal.valueOf(20), BigDecimal.ONE,
+            Collections.singletonList(PRIME), true);
+        int cheapPrime = builder.add("B000CHEAP0", new BigDecimal("10.00"), new BigDecimal("3.00"),
+            Arrays.asList(PRIME, FRESH), true);
+        int midNonPrime = builder.add("B000MIDNP0", new BigDecimal("30.00"), new BigDecimal("5.00"),
+            Collections.singletonList(NONPRIME), true);
+        int invalid = builder.add("B000INVAL0", new BigDecimal("35.00"), new BigDecimal("5.00"),
+            Collections.singletonList(PRIME), false);
+        int midPrimeNow = builder.add("B000MIDPN0", new BigDecimal("40.00"), new BigDecimal("1.00"),
+            Collections.singletonList(PRIMENOW), true);
+        int expensivePrime = builder.add("B000EXPPR0", new BigDecimal("250.00"), new BigDecimal("1.00"),
+            Collections.singletonList(PRIME), true);
+        builder.similarProducts(main, expensivePrime, midNonPrime, invalid, cheapPrime, midPrimeNow);
+        store = builder.build();
+    }
+
+    @Test
+    public void product_view_readsColumns() {
+        // GIVEN
+        ProductV2 product = store.product(1);
+
+        // WHEN - THEN
+        assertEquals("B000CHEAP0", product.asin(), "View should read the ASIN column!");
+        assertEquals(new BigDecimal("10.00"), product.getPrice(), "View should read the price column!");
+        assertEquals(new BigDecimal("3.00"), product.getTotalBenefitAmount(), "View should read the benefit column!");
+        assertEquals(Arrays.asList(FRESH, PRIME), product.getShippingPrograms(),
+            "View should read the shipping mask column!");
+        assertFalse(store.product(3).isValid(), "View should read the validity column!");
+        assertEquals(store.product(1), product, "Views of the same product should be equal!");
+    }
+
+    @Test
+    public void getSimilarProducts_forStoreView_matchesObjectIndex() {
+        // GIVEN
+        ProductV2 main = store.product(0);
+        SimilarProductsIndex objectIndex = SimilarProductsIndex.build(main.getSimilarProducts());
+        ProductPage productPage = new ProductPage(main);
+
+        // WHEN - THEN
+        for (SortByEnum sortBy : SortByEnum.values()) {
+            for (PriceRangeEnum priceRange : PriceRangeEnum.values()) {
+                for (PrimeOption primeOption : Arrays.asList(PrimeOption.ANY_SHIPPING, PRIME_ONLY)) {
+                    List<ProductV2> expected = objectIndex.query(sortBy, priceRange,
+                        primeOption.getSupportedShipping());
+                    List<ProductV2> actual = productPage.getSimilarProducts(sortBy,
+                        new PriceRangeOption(priceRange), primeOption);
+                    assertEquals(expected, actual,
+                        "Store index should match the object index for " + sortBy + ", " + priceRange + "!");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getSimilarProducts_forStoreView_leavesOutInvalidProducts() {
+        // GIVEN
+        ProductPage productPage = new ProductPage(store.product(0));
+
+        // WHEN
+        List<ProductV2> similarProducts = productPage.getSimilarProducts(SortByEnum.PRICE_LOW_TO_HIGH,
+            new PriceRangeOption(PriceRangeEnum.PRICE_25_TO_50), PrimeOption.ANY_SHIPPING);
+
+        // THEN
+        assertEquals(Arrays.asList(store.product(2), store.product(4)), similarProducts,
+            "Only valid products in range should be returned, cheapest first!");
+    }
+
+    @Test
+    public void add_withRepeatedAsin_internsAsin() {
+        // GIVEN
+        ColumnarProductStore.Builder builder = ColumnarProductStore.builder();
+
+        // WHEN
+        builder.add("B000REPEAT", 100L, 0L, PRIME.mask(), true);
+        builder.add("B000REPEAT", 200L, 0L, PRIME.mask(), true);
+        builder.add("B000OTHER0", 300L, 0L, PRIME.mask(), true);
+        ColumnarProductStore repeated = builder.build();
+
+        // THEN
+        assertEquals(3, repeated.size(), "Every product should be stored!");
+        assertEquals(2, repeated.distinctAsins(), "Repeated ASINs should be stored once!");
+        assertEquals("B000REPEAT", repeated.asin(1), "Repeated ASIN should read back!");
+    }
+
+    @Test
+    public void add_withFractionalCents_throwsException() {
+        // GIVEN
+        ColumnarProductStore.Builder builder = ColumnarProductStore.builder();
+
+        // WHEN - THEN
+        assertThrows(IllegalArgumentException.class, () -> builder.add("B000FRACT0", new BigDecimal("1.005"),
+            BigDecimal.ZERO, Collections.<ShippingProgramEnum>emptyList(), true),
+            "Prices that are not whole cents should be rejected!");
+        assertNull(store.product(0).title(), "Products without details should have no title!");
+    }
+}
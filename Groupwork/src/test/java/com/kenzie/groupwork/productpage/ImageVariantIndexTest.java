@@ -0,0 +1,101 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ImageVariantIndexTest {
+
+    @Mock
+    ProductImagesV2 productImages;
+
+    private ProductImagesV2.Image main;
+    private ProductImagesV2.Image look1;
+    private ProductImagesV2.Image pt01;
+    private ProductImagesV2.Image look2;
+    private ProductImagesV2.Image noVariant;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        main = mockImage("MAIN");
+        look1 = mockImage("LOOK");
+        pt01 = mockImage("PT01");
+        look2 = mockImage("LOOK");
+        noVariant = mockImage(null);
+        when(productImages.images()).thenReturn(Arrays.asList(main, look1, noVariant, pt01, look2));
+    }
+
+    @Test
+    public void images_withRepeatedVariant_returnsImagesInDisplayOrder() {
+        // GIVEN
+        ImageVariantIndex index = ImageVariantIndex.of(productImages);
+
+        // WHEN
+        List<ProductImagesV2.Image> lookImages = index.images("LOOK");
+
+        // THEN
+        assertEquals(Arrays.asList(look1, look2), lookImages, "LOOK images should be returned in display order!");
+        assertEquals(1, index.firstPosition("LOOK"), "First LOOK image should be at position 1!");
+    }
+
+    @Test
+    public void images_withMissingVariant_returnsEmpty() {
+        // GIVEN
+        ImageVariantIndex index = ImageVariantIndex.of(productImages);
+
+        // WHEN
+        List<ProductImagesV2.Image> backImages = index.images("BACK");
+
+        // THEN
+        assertTrue(backImages.isEmpty(), "Variant without images should return an empty list!");
+        assertFalse(index.firstImage("BACK").isPresent(), "Variant without images should have no first image!");
+        assertEquals(-1, index.firstPosition("BACK"), "Variant without images should have no first position!");
+    }
+
+    @Test
+    public void images_withSeveralVariants_returnsRequestedVariantsInOrder() {
+        // GIVEN
+        ImageVariantIndex index = ImageVariantIndex.of(productImages);
+
+        // WHEN
+        Map<String, List<ProductImagesV2.Image>> images = index.images(Arrays.asList("PT01", "BACK", "MAIN"));
+
+        // THEN
+        assertEquals(Arrays.asList("PT01", "MAIN"), Arrays.asList(images.keySet().toArray()),
+            "Only variants with images should be returned, in the order requested!");
+        assertEquals(Collections.singletonList(main), images.get("MAIN"), "MAIN should map to the main image!");
+    }
+
+    @Test
+    public void isFor_withSourceImages_returnsTrueOnlyForSameObject() {
+        // GIVEN
+        ImageVariantIndex index = ImageVariantIndex.of(productImages);
+
+        // WHEN - THEN
+        assertTrue(index.isFor(productImages), "Index should be for the images it was built from!");
+        assertFalse(index.isFor(mock(ProductImagesV2.class)), "Index should not be for other images!");
+        assertSame(main, index.firstImage("MAIN").get(), "First MAIN image should be the main image!");
+    }
+
+    private ProductImagesV2.Image mockImage(String variant) {
+        ProductImagesV2.Image image = mock(ProductImagesV2.Image.class);
+        when(image.variant()).thenReturn(variant);
+        return image;
+    }
+}
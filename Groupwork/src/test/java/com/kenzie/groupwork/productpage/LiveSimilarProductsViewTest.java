@@ -0,0 +1,209 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.NONPRIME;
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.PRIME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LiveSimilarProductsViewTest {
+
+    private static final PriceRangeOption ANY_PRICE = new PriceRangeOption(PriceRangeEnum.ANY);
+    private static final PrimeOption PRIME_ONLY = new PrimeOption(Collections.singletonList(PRIME));
+
+    private ProductV2 cheap;
+    private ProductV2 mid;
+    private ProductV2 expensive;
+
+    private ProductUpdateFeed feed;
+    private LiveSimilarProductsView view;
+
+    @BeforeEach
+    public void setup() {
+        cheap = mockProduct("B001", BigDecimal.valueOf(10.0), Collections.singletonList(PRIME));
+        mid = mockProduct("B002", BigDecimal.valueOf(30.0), Collections.singletonList(NONPRIME));
+        expensive = mockProduct("B003", BigDecimal.valueOf(60.0), Collections.singletonList(PRIME));
+        feed = new ProductUpdateFeed();
+        view = new LiveSimilarProductsView(Arrays.asList(mid, expensive, cheap));
+        view.subscribeTo(feed);
+    }
+
+    @Test
+    public void getSimilarProducts_afterPriceUpdate_resortsProduct() {
+        // GIVEN
+        feed.publishPrice("B003", BigDecimal.valueOf(5.0));
+
+        // WHEN
+        List<ProductV2> similarProducts = view.getSimilarProducts(SortByEnum.PRICE_LOW_TO_HIGH, ANY_PRICE,
+            PrimeOption.ANY_SHIPPING);
+
+        // THEN
+        assertEquals(Arrays.asList("B003", "B001", "B002"), asins(similarProducts),
+            "The repriced product should move to the front!");
+        assertEquals(BigDecimal.valueOf(5.0), similarProducts.get(0).getPrice(),
+            "The returned product should carry the updated price!");
+    }
+
+    @Test
+    public void getSimilarProducts_afterPriceUpdate_movesProductBetweenPriceRanges() {
+        // GIVEN
+        feed.publishPrice("B001", BigDecimal.valueOf(55.0));
+
+        // WHEN
+        List<ProductV2> similarProducts = view.getSimilarProducts(SortByEnum.RELEVANCE,
+            new PriceRangeOption(PriceRangeEnum.PRICE_50_TO_100), PrimeOption.ANY_SHIPPING);
+
+        // THEN
+        assertEquals(Arrays.asList("B003", "B001"), asins(similarProducts),
+            "Both products now priced 50 to 100 should be returned in relevance order!");
+    }
+
+    @Test
+    public void getSimilarProducts_afterShippingUpdate_appliesPrimeFilter() {
+        // GIVEN
+        feed.publishShipping("B002", Collections.singletonList(PRIME));
+        feed.publishShipping("B001", Collections.singletonList(NONPRIME));
+
+        // WHEN
+        List<ProductV2> similarProducts = view.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE, PRIME_ONLY);
+
+        // THEN
+        assertEquals(Arrays.asList("B002", "B003"), asins(similarProducts),
+            "Only products now shipping with Prime should be returned!");
+    }
+
+    @Test
+    public void getSimilarProducts_afterValidityToggle_removesAndRestoresProduct() {
+        // GIVEN
+        feed.publishValidity("B002", false);
+
+        // WHEN
+        List<ProductV2> withoutMid = view.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE,
+            PrimeOption.ANY_SHIPPING);
+        feed.publishValidity("B002", true);
+        List<ProductV2> withMid = view.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE,
+            PrimeOption.ANY_SHIPPING);
+
+        // THEN
+        assertEquals(Arrays.asList("B003", "B001"), asins(withoutMid),
+            "Invalid products should not be returned!");
+        assertEquals(Arrays.asList("B002", "B003", "B001"), asins(withMid),
+            "Products made valid again should return to their relevance position!");
+    }
+
+    @Test
+    public void getSimilarProducts_withPage_returnsRequestedSlice() {
+        // GIVEN
+        int offset = 1;
+        int limit = 1;
+
+        // WHEN
+        List<ProductV2> similarProducts = view.getSimilarProducts(SortByEnum.PRICE_HIGH_TO_LOW, ANY_PRICE,
+            PrimeOption.ANY_SHIPPING, offset, limit);
+
+        // THEN
+        assertEquals(Collections.singletonList("B002"), asins(similarProducts),
+            "Page should hold the second most expensive product!");
+    }
+
+    @Test
+    public void getSimilarProducts_afterUnsubscribe_ignoresUpdates() {
+        // GIVEN
+        view.unsubscribeFrom(feed);
+
+        // WHEN
+        feed.publishValidity("B001", false);
+
+        // THEN
+        assertEquals(3, view.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE, PrimeOption.ANY_SHIPPING).size(),
+            "An unsubscribed view should not receive updates!");
+    }
+
+    @Test
+    public void getSimilarProducts_pageReadBeforeUpdate_keepsProductAsRead() {
+        // GIVEN
+        List<ProductV2> before = view.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE, PrimeOption.ANY_SHIPPING);
+
+        // WHEN
+        feed.publishPrice("B002", BigDecimal.valueOf(99.0));
+        feed.publishShipping("B002", Collections.singletonList(PRIME));
+
+        // THEN
+        assertEquals(BigDecimal.valueOf(30.0), before.get(0).getPrice(),
+            "A page already read should keep the price it was read with!");
+        assertEquals(Collections.singletonList(NONPRIME), before.get(0).getShippingPrograms(),
+            "A page already read should keep the shipping programs it was read with!");
+    }
+
+    @Test
+    public void getSimilarProducts_productWithSeveralAcceptedPrograms_returnedOnce() {
+        // GIVEN
+        feed.publishShipping("B002", Arrays.asList(PRIME, NONPRIME));
+
+        // WHEN
+        List<ProductV2> similarProducts = view.getSimilarProducts(SortByEnum.PRICE_LOW_TO_HIGH, ANY_PRICE,
+            PrimeOption.ANY_SHIPPING);
+
+        // THEN
+        assertEquals(Arrays.asList("B001", "B002", "B003"), asins(similarProducts),
+            "A product shipping with several accepted programs should be returned once, in sorted order!");
+    }
+
+    @Test
+    public void subscribeTo_productWithoutAsin_showsProductWithoutSubscribingIt() {
+        // GIVEN
+        ProductV2 noAsin = mockProduct(null, BigDecimal.valueOf(20.0), Collections.singletonList(PRIME));
+        LiveSimilarProductsView withoutAsin = new LiveSimilarProductsView(Arrays.asList(cheap, noAsin));
+
+        // WHEN
+        withoutAsin.subscribeTo(feed);
+
+        // THEN
+        assertEquals(Collections.singleton("B001"), withoutAsin.asins(),
+            "Only products with an ASIN should be subscribed!");
+        assertEquals(2, withoutAsin.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE, PRIME_ONLY).size(),
+            "Products without an ASIN should still be shown!");
+    }
+
+    @Test
+    public void getSimilarProducts_withNegativeOffset_throwsIllegalArgumentException() {
+        // GIVEN - view from setup
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> view.getSimilarProducts(SortByEnum.RELEVANCE, ANY_PRICE,
+            PrimeOption.ANY_SHIPPING, -1, 10), "A negative offset should be rejected!");
+    }
+
+    private static List<String> asins(List<ProductV2> products) {
+        return products.stream()
+            .map(ProductV2::asin)
+            .collect(Collectors.toList());
+    }
+
+    private ProductV2 mockProduct(String asin, BigDecimal price, List<ShippingProgramEnum> shipping) {
+        ProductV2 product = mock(ProductV2.class);
+        when(product.asin()).thenReturn(asin);
+        when(product.isValid()).thenReturn(true);
+        when(product.getPrice()).thenReturn(price);
+        when(product.getTotalBenefitAmount()).thenReturn(BigDecimal.ONE);
+        when(product.getShippingPrograms()).thenReturn(shipping);
+        return product;
+    }
+}
@@ -0,0 +1,119 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParallelSimilarProductsFilterTest {
+
+    private static final int PRODUCT_COUNT = 200;
+
+    private final PriceRangeOption under50 = new PriceRangeOption(PriceRangeEnum.PRICE_25_TO_50);
+    private final PrimeOption primeOnly = new PrimeOption(Collections.singletonList(ShippingProgramEnum.PRIME));
+
+    private ForkJoinPool pool;
+    private List<ProductV2> similarProducts;
+    private ProductPage productPage;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ForkJoinPool(4);
+        similarProducts = new ArrayList<>();
+        ShippingProgramEnum[] programs = ShippingProgramEnum.values();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            ProductV2 product = mock(ProductV2.class);
+            when(product.isValid()).thenReturn(i % 7 != 0);
+            when(product.getPrice()).thenReturn(BigDecimal.valueOf(20 + i % 40));
+            when(product.getTotalBenefitAmount()).thenReturn(BigDecimal.valueOf(i % 5));
+            when(product.getShippingPrograms()).thenReturn(Collections.singletonList(programs[i % programs.length]));
+            similarProducts.add(product);
+        }
+        ProductV2 productV2 = mock(ProductV2.class);
+        when(productV2.getSimilarProducts()).thenReturn(similarProducts);
+        productPage = new ProductPage(productV2);
+    }
+
+    @AfterEach
+    public void teardown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void getSimilarProductsInParallel_smallChunks_matchesSequentialResult() {
+        // GIVEN
+        ParallelSimilarProductsFilter parallelFilter = new ParallelSimilarProductsFilter(pool, 16);
+
+        for (SortByEnum sortBy : SortByEnum.values()) {
+            // WHEN
+            List<ProductV2> parallel = productPage.getSimilarProductsInParallel(sortBy, under50, primeOnly,
+                parallelFilter);
+
+            // THEN
+            assertEquals(productPage.getSimilarProducts(sortBy, under50, primeOnly), parallel,
+                "Parallel result should match sequential result for " + sortBy);
+        }
+    }
+
+    @Test
+    public void getSimilarProductsInParallel_belowThreshold_matchesSequentialResult() {
+        // GIVEN
+        ParallelSimilarProductsFilter parallelFilter = new ParallelSimilarProductsFilter(pool, PRODUCT_COUNT);
+
+        // WHEN
+        List<ProductV2> parallel = productPage.getSimilarProductsInParallel(SortByEnum.PRICE_HIGH_TO_LOW, under50,
+            primeOnly, parallelFilter);
+
+        // THEN
+        assertEquals(productPage.getSimilarProducts(SortByEnum.PRICE_HIGH_TO_LOW, under50, primeOnly), parallel,
+            "Sequential fallback should match sequential result!");
+    }
+
+    @Test
+    public void getSimilarProductsInParallel_unpricedProductAboveThreshold_leavesProductOut() {
+        // GIVEN
+        ProductV2 unpriced = mock(ProductV2.class);
+        when(unpriced.isValid()).thenReturn(true);
+        when(unpriced.getPrice()).thenReturn(null);
+        when(unpriced.getTotalBenefitAmount()).thenReturn(BigDecimal.ONE);
+        when(unpriced.getShippingPrograms()).thenReturn(Collections.singletonList(ShippingProgramEnum.PRIME));
+        List<ProductV2> withUnpriced = new ArrayList<>(similarProducts);
+        withUnpriced.add(PRODUCT_COUNT / 2, unpriced);
+        ProductV2 productV2 = mock(ProductV2.class);
+        when(productV2.getSimilarProducts()).thenReturn(withUnpriced);
+        ProductPage pageWithUnpriced = new ProductPage(productV2);
+        ParallelSimilarProductsFilter parallelFilter = new ParallelSimilarProductsFilter(pool, 16);
+
+        for (SortByEnum sortBy : SortByEnum.values()) {
+            // WHEN
+            List<ProductV2> parallel = pageWithUnpriced.getSimilarProductsInParallel(sortBy, under50, primeOnly,
+                parallelFilter);
+
+            // THEN
+            assertEquals(productPage.getSimilarProducts(sortBy, under50, primeOnly), parallel,
+                "Unpriced products should be left out of the parallel result for " + sortBy);
+        }
+    }
+
+    @Test
+    public void constructor_nonPositiveThreshold_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSimilarProductsFilter(pool, 0));
+    }
+}
@@ -0,0 +1,128 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProductPageFactoryTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(60);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private ProductPageFactory factory;
+
+    @BeforeEach
+    public void setup() {
+        nanoTime.set(0);
+        factory = new ProductPageFactory(2, TIME_TO_LIVE, nanoTime::get);
+    }
+
+    @Test
+    public void create_sameAsinWithinTimeToLive_sharesDerivedState() {
+        // GIVEN
+        ProductV2 firstRequest = mockProduct("B001");
+        ProductV2 secondRequest = mockProduct("B001");
+
+        // WHEN
+        ProductPage firstPage = factory.create(firstRequest);
+        nanoTime.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+        ProductPage secondPage = factory.create(secondRequest);
+
+        // THEN
+        assertSame(firstRequest, secondPage.getProduct(), "Pages for a cached ASIN should display the cached product!");
+        assertSame(firstPage.getImageUrlCache(), secondPage.getImageUrlCache(),
+            "Pages for the same ASIN should share derived state!");
+        assertEquals(1, factory.getHitCount(), "The second page should be a cache hit!");
+    }
+
+    @Test
+    public void create_afterTimeToLive_rebuildsDerivedState() {
+        // GIVEN
+        ProductPage firstPage = factory.create(mockProduct("B001"));
+
+        // WHEN
+        nanoTime.addAndGet(TIME_TO_LIVE.toNanos());
+        ProductV2 secondRequest = mockProduct("B001");
+        ProductPage secondPage = factory.create(secondRequest);
+
+        // THEN
+        assertSame(secondRequest, secondPage.getProduct(), "Expired products should be replaced by the new one!");
+        assertNotSame(firstPage.getImageUrlCache(), secondPage.getImageUrlCache(),
+            "Expired state should be rebuilt!");
+        assertEquals(2, factory.getMissCount(), "Both pages should be cache misses!");
+    }
+
+    @Test
+    public void create_pastMaxProducts_evictsLeastRecentlyUsed() {
+        // GIVEN
+        ProductPage first = factory.create(mockProduct("B001"));
+        factory.create(mockProduct("B002"));
+        factory.create(mockProduct("B001"));
+
+        // WHEN
+        factory.create(mockProduct("B003"));
+
+        // THEN
+        assertEquals(2, factory.size(), "The cache should hold at most two products!");
+        assertSame(first.getImageUrlCache(), factory.create(mockProduct("B001")).getImageUrlCache(),
+            "The recently used product should still be cached!");
+        factory.create(mockProduct("B002"));
+        assertEquals(4, factory.getMissCount(), "The least recently used product should have been evicted!");
+    }
+
+    @Test
+    public void create_withoutAsin_doesNotCacheState() {
+        // GIVEN
+        ProductV2 product = mockProduct(null);
+
+        // WHEN
+        ProductPage firstPage = factory.create(product);
+        ProductPage secondPage = factory.create(product);
+
+        // THEN
+        assertNotSame(firstPage.getImageUrlCache(), secondPage.getImageUrlCache(),
+            "Products without an ASIN should not share state!");
+        assertEquals(0, factory.size(), "Products without an ASIN should not be cached!");
+    }
+
+    @Test
+    public void invalidate_cachedAsin_rebuildsDerivedState() {
+        // GIVEN
+        ProductPage firstPage = factory.create(mockProduct("B001"));
+
+        // WHEN
+        factory.invalidate("B001");
+
+        // THEN
+        assertNotSame(firstPage.getImageUrlCache(), factory.create(mockProduct("B001")).getImageUrlCache(),
+            "Invalidated state should be rebuilt!");
+    }
+
+    @Test
+    public void constructor_nonPositiveTimeToLive_throwsIllegalArgumentException() {
+        // GIVEN
+        Duration noTime = Duration.ZERO;
+
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class, () -> new ProductPageFactory(10, noTime),
+            "A zero time to live should be rejected!");
+    }
+
+    private ProductV2 mockProduct(String asin) {
+        ProductV2 product = mock(ProductV2.class);
+        when(product.asin()).thenReturn(asin);
+        return product;
+    }
+}
@@ -28,9 +28,12 @@ import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.UNKNOWN
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -303,6 +306,40 @@ public class ProductPageTest {
         assertEquals(expectedUrl, actualUrl, "Valid look URL should ignore invalid URLs!");
     }
 
+    @Test
+    public void extractMainImageUrl_repeatedRenders_buildsUrlOnce() {
+        // GIVEN
+        ProductImagesV2 mockImagesV2 = mock(ProductImagesV2.class);
+        Optional<ProductImagesV2> givenImages = Optional.of(mockImagesV2);
+        when(productV2.productImages()).thenReturn(givenImages);
+        when(mockImagesV2.images()).thenReturn(Arrays.asList(mockMainImage, mockLookImage1));
+
+        // WHEN
+        Optional<String> firstUrl = productPage.extractMainImageUrl(TEST_LONG_DIMENSION);
+        Optional<String> secondUrl = productPage.extractMainImageUrl(TEST_LONG_DIMENSION);
+
+        // THEN
+        assertEquals(firstUrl, secondUrl, "Cached URL should match the rendered URL!");
+        verify(mockMainImage, times(1)).lowRes();
+        assertEquals(1, productPage.getImageUrlCache().getHitCount(), "Second render should hit the cache!");
+        assertEquals(1, productPage.getImageUrlCache().getMissCount(), "First render should miss the cache!");
+    }
+
+    @Test
+    public void getImageUrlCache_onMiss_rendersWithoutHoldingCacheLock() {
+        // GIVEN
+        ImageUrlCache imageUrlCache = new ImageUrlCache(ImageUrlCache.DEFAULT_MAX_ENTRIES);
+        ProductImagesV2.Image image = mock(ProductImagesV2.Image.class);
+
+        // WHEN
+        Optional<String> url = imageUrlCache.getUrl(image, 100,
+            () -> Thread.holdsLock(imageUrlCache) ? "locked" : "unlocked");
+
+        // THEN
+        assertEquals(Optional.of("unlocked"), url, "URLs should be rendered outside the cache's lock!");
+        assertEquals(1, imageUrlCache.size(), "The rendered URL should be cached!");
+    }
+
     @Test
     public void getSimilarProducts_withInvalidProduct_removesInvalidProduct() {
         // GIVEN
@@ -572,6 +609,65 @@ public class ProductPageTest {
         assertEquals(similarProduct2, similarProducts.get(1), "Products should be orderd by high to low reward!");
     }
 
+    @Test
+    public void getSimilarProducts_withPage_returnsOnlyRequestedSlice() {
+        // GIVEN
+        when(similarProduct1.getPrice()).thenReturn(BigDecimal.valueOf(2.0));
+        when(similarProduct2.getPrice()).thenReturn(BigDecimal.valueOf(1.0));
+        when(similarProduct3.getPrice()).thenReturn(BigDecimal.valueOf(3.0));
+
+        // WHEN
+        List<ProductV2> similarProducts = productPage.getSimilarProducts(SortByEnum.PRICE_HIGH_TO_LOW,
+            priceFilter,
+            shippingFilter,
+            1,
+            1);
+
+        // THEN
+        assertEquals(1, similarProducts.size(), "Page should contain at most limit products!");
+        assertEquals(similarProduct1, similarProducts.get(0), "Page should skip offset sorted products!");
+    }
+
+    @Test
+    public void getSimilarProducts_withPagePastEnd_returnsEmptyList() {
+        // WHEN
+        List<ProductV2> similarProducts = productPage.getSimilarProducts(SortByEnum.RELEVANCE,
+            priceFilter,
+            shippingFilter,
+            3,
+            8);
+
+        // THEN
+        assertTrue(similarProducts.isEmpty(), "Page past the last product should be empty!");
+    }
+
+    @Test
+    public void getSimilarProducts_withNegativeOffset_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> productPage.getSimilarProducts(SortByEnum.RELEVANCE,
+            priceFilter,
+            shippingFilter,
+            -1,
+            8));
+    }
+
+    @Test
+    public void getSimilarProducts_withFirstPage_matchesStartOfUnpagedResult() {
+        // GIVEN
+        when(similarProduct1.getTotalBenefitAmount()).thenReturn(BigDecimal.valueOf(2.0));
+        when(similarProduct2.getTotalBenefitAmount()).thenReturn(null);
+        when(similarProduct3.getTotalBenefitAmount()).thenReturn(BigDecimal.valueOf(2.0));
+
+        for (SortByEnum sortBy : SortByEnum.values()) {
+            // WHEN
+            List<ProductV2> allProducts = productPage.getSimilarProducts(sortBy, priceFilter, shippingFilter);
+            List<ProductV2> firstPage = productPage.getSimilarProducts(sortBy, priceFilter, shippingFilter, 0, 2);
+
+            // THEN
+            assertEquals(allProducts.subList(0, 2), firstPage,
+                "The first page should match the start of the unpaged result for " + sortBy + "!");
+        }
+    }
+
     /**
      * Helper method to mock all the calls required for a product.
      * @param price The value returned by getPrice()
@@ -0,0 +1,124 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.catalog.SyntheticCatalog;
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ProductSnapshotTest {
+
+    private SyntheticCatalog catalog;
+    private Path snapshotFile;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        catalog = SyntheticCatalog.builder().products(300).similarProducts(0, 40).seed(14).build();
+        snapshotFile = Files.createTempFile("products", ".snapshot");
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    @Test
+    public void load_writtenSnapshot_readsSameProducts() throws IOException {
+        // GIVEN
+        ProductSnapshot.write(catalog.getStore(), snapshotFile);
+
+        // WHEN
+        ProductSnapshot snapshot = ProductSnapshot.load(snapshotFile);
+
+        // THEN
+        assertEquals(catalog.size(), snapshot.size(), "Snapshot should hold every product!");
+        for (int id = 0; id < catalog.size(); id++) {
+            ProductV2 expected = catalog.product(id);
+            ProductV2 actual = snapshot.product(id);
+            assertEquals(expected.asin(), actual.asin(), "ASINs should match!");
+            assertEquals(expected.getPrice(), actual.getPrice(), "Prices should match!");
+            assertEquals(expected.getTotalBenefitAmount(), actual.getTotalBenefitAmount(), "Benefits should match!");
+            assertEquals(expected.getShippingPrograms(), actual.getShippingPrograms(), "Shipping should match!");
+            assertEquals(expected.isValid(), actual.isValid(), "Validity should match!");
+            assertEquals(asins(expected.getSimilarProducts()), asins(actual.getSimilarProducts()),
+                "Similar products should match!");
+            assertEquals(variants(expected), variants(actual), "Image variants should match!");
+        }
+    }
+
+    @Test
+    public void getSimilarProducts_forSnapshotProduct_matchesStoreProduct() throws IOException {
+        // GIVEN
+        ProductSnapshot.write(catalog.getStore(), snapshotFile);
+        ProductSnapshot snapshot = ProductSnapshot.load(snapshotFile);
+
+        // WHEN - THEN
+        for (int id = 0; id < 20; id++) {
+            ProductPage storePage = new ProductPage(catalog.product(id));
+            ProductPage snapshotPage = new ProductPage(snapshot.product(id));
+            for (SortByEnum sortBy : SortByEnum.values()) {
+                PriceRangeOption priceRange = new PriceRangeOption(PriceRangeEnum.values()[id % 6]);
+                assertEquals(
+                    asins(storePage.getSimilarProducts(sortBy, priceRange, PrimeOption.ANY_SHIPPING)),
+                    asins(snapshotPage.getSimilarProducts(sortBy, priceRange, PrimeOption.ANY_SHIPPING)),
+                    "Snapshot page should list the same similar products as the store page!");
+            }
+            assertEquals(storePage.extractLookImageUrl(160), snapshotPage.extractLookImageUrl(160),
+                "Snapshot page should render the same LOOK image!");
+        }
+    }
+
+    @Test
+    public void load_notASnapshot_throwsException() throws IOException {
+        // GIVEN
+        Files.write(snapshotFile, "not a snapshot".getBytes());
+
+        // WHEN - THEN
+        assertThrows(IOException.class, () -> ProductSnapshot.load(snapshotFile),
+            "Files without the snapshot header should be rejected!");
+    }
+
+    @Test
+    public void fileBytes_pastTwoGigabytes_throwsIllegalArgumentException() {
+        // GIVEN
+        int products = 1000;
+        long asinBytes = Integer.MAX_VALUE;
+
+        // WHEN - THEN
+        assertThrows(IllegalArgumentException.class, () -> ProductSnapshot.fileBytes(products, 0, 0, asinBytes, 0),
+            "Snapshots too large for one mapping should be rejected before writing!");
+    }
+
+    private static List<String> asins(List<ProductV2> products) {
+        List<String> asins = new ArrayList<>();
+        for (ProductV2 product : products) {
+            asins.add(product.asin());
+        }
+        return asins;
+    }
+
+    private static List<String> variants(ProductV2 product) {
+        List<String> variants = new ArrayList<>();
+        product.productImages().ifPresent(images -> {
+            for (ProductImagesV2.Image image : images.images()) {
+                variants.add(image.variant() + image.lowRes().width() + "x" + image.lowRes().height());
+            }
+        });
+        return variants;
+    }
+}
@@ -0,0 +1,231 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.ShippingProgramEnum;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.FRESH;
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.NONPRIME;
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.PRIME;
+import static com.kenzie.groupwork.productpage.types.ShippingProgramEnum.PRIMENOW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class SimilarProductsIndexTest {
+
+    private static final PrimeOption PRIME_ONLY = new PrimeOption(Arrays.asList(PRIME, PRIMENOW));
+
+    @Mock
+    ProductV2 productV2;
+
+    private ProductV2 cheapPrime;
+    private ProductV2 midNonPrime;
+    private ProductV2 midPrimeNow;
+    private ProductV2 expensivePrime;
+
+    private ProductPage productPage;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        cheapPrime = mockProduct(BigDecimal.valueOf(10.0), BigDecimal.valueOf(3.0), Arrays.asList(PRIME, FRESH));
+        midNonPrime = mockProduct(BigDecimal.valueOf(30.0), BigDecimal.valueOf(5.0),
+            Collections.singletonList(NONPRIME));
+        midPrimeNow = mockProduct(BigDecimal.valueOf(40.0), BigDecimal.valueOf(1.0),
+            Collections.singletonList(PRIMENOW));
+        expensivePrime = mockProduct(BigDecimal.valueOf(250.0), BigDecimal.valueOf(1.0),
+            Collections.singletonList(PRIME));
+        when(productV2.getSimilarProducts()).thenReturn(
+            Arrays.asList(expensivePrime, midNonPrime, cheapPrime, midPrimeNow));
+        productPage = new ProductPage(productV2);
+    }
+
+    @Test
+    public void getSimilarProducts_withRealFilters_answersFromIndex() {
+        // GIVEN
+        PriceRangeOption under50 = new PriceRangeOption(PriceRangeEnum.PRICE_25_TO_50);
+
+        // WHEN
+        List<ProductV2> similarProducts = productPage.getSimilarProducts(SortByEnum.PRICE_HIGH_TO_LOW,
+            under50,
+            PRIME_ONLY);
+
+        // THEN
+        assertEquals(Collections.singletonList(midPrimeNow), similarProducts,
+            "Only the prime product in range should be returned!");
+    }
+
+    @Test
+    public void getSimilarProducts_calledRepeatedly_buildsIndexOnce() {
+        // GIVEN
+        PriceRangeOption anyPrice = new PriceRangeOption(PriceRangeEnum.ANY);
+
+        // WHEN
+        for (SortByEnum sortBy : SortByEnum.values()) {
+            productPage.getSimilarProducts(sortBy, anyPrice, PrimeOption.ANY_SHIPPING);
+        }
+
+        // THEN
+        verify(productV2, times(1)).getSimilarProducts();
+        verify(cheapPrime, times(1)).isValid();
+    }
+
+    @Test
+    public void query_rewardHighToLow_keepsRelevanceOrderForTies() {
+        // GIVEN
+        SimilarProductsIndex index = productPage.getSimilarProductsIndex();
+
+        // WHEN
+        List<ProductV2> similarProducts = index.query(SortByEnum.REWARD_HIGH_TO_LOW, PriceRangeEnum.ANY,
+            Arrays.asList(ShippingProgramEnum.values()));
+
+        // THEN
+        assertEquals(Arrays.asList(midNonPrime, cheapPrime, expensivePrime, midPrimeNow), similarProducts,
+            "Products should be ordered high to low reward, ties in relevance order!");
+    }
+
+    @Test
+    public void query_relevance_matchesScanOfSameFilters() {
+        // GIVEN
+        SimilarProductsIndex index = productPage.getSimilarProductsIndex();
+
+        // WHEN
+        List<ProductV2> similarProducts = index.query(SortByEnum.RELEVANCE, PriceRangeEnum.PRICE_200_TO_ANY,
+            PRIME_ONLY.getSupportedShipping());
+
+        // THEN
+        assertEquals(Collections.singletonList(expensivePrime), similarProducts,
+            "Only the expensive prime product should be returned!");
+    }
+
+    @Test
+    public void query_withPage_walksOrderingFromOffset() {
+        // GIVEN
+        SimilarProductsIndex index = productPage.getSimilarProductsIndex();
+
+        // WHEN
+        List<ProductV2> similarProducts = index.query(SortByEnum.PRICE_LOW_TO_HIGH, PriceRangeEnum.ANY,
+            PrimeOption.ANY_SHIPPING.getSupportedMask(), 1, 2);
+
+        // THEN
+        assertEquals(Arrays.asList(midNonPrime, midPrimeNow), similarProducts,
+            "Page should hold the second and third cheapest products!");
+    }
+
+    @Test
+    public void build_withInvalidAndNullProducts_indexesOnlyValidProducts() {
+        // GIVEN
+        when(midNonPrime.isValid()).thenReturn(false);
+
+        // WHEN
+        SimilarProductsIndex index = SimilarProductsIndex.build(
+            Arrays.asList(cheapPrime, null, midNonPrime));
+
+        // THEN
+        assertEquals(1, index.size(), "Only valid products should be indexed!");
+        assertTrue(SimilarProductsIndex.build(null)
+            .query(SortByEnum.RELEVANCE, PriceRangeEnum.ANY, PRIME_ONLY.getSupportedShipping())
+            .isEmpty(), "Null similar products should produce an empty index!");
+    }
+
+    @Test
+    public void getSimilarProductsWithFacets_withRealFilters_countsEachFacetAgainstTheOtherFilter() {
+        // GIVEN
+        PriceRangeOption under50 = new PriceRangeOption(PriceRangeEnum.PRICE_25_TO_50);
+
+        // WHEN
+        FacetedSimilarProducts faceted = productPage.getSimilarProductsWithFacets(SortByEnum.RELEVANCE, under50,
+            PRIME_ONLY, 0, 10);
+
+        // THEN
+        FacetCounts counts = faceted.getFacetCounts();
+        assertEquals(Collections.singletonList(midPrimeNow), faceted.getProducts(),
+            "Only the prime product in range should be returned!");
+        assertEquals(1, counts.getMatchingCount(), "One product should match both filters!");
+        assertEquals(3, counts.getPriceRangeCount(PriceRangeEnum.ANY), "Three prime products should have any price!");
+        assertEquals(1, counts.getPriceRangeCount(PriceRangeEnum.PRICE_0_TO_25), "One prime product is under $25!");
+        assertEquals(0, counts.getPriceRangeCount(PriceRangeEnum.PRICE_50_TO_100),
+            "No prime product is $50 to $100!");
+        assertEquals(1, counts.getPriceRangeCount(PriceRangeEnum.PRICE_200_TO_ANY), "One prime product is over $200!");
+        assertEquals(1, counts.getShippingProgramCount(NONPRIME), "One product in range ships non-prime!");
+        assertEquals(1, counts.getShippingProgramCount(PRIMENOW), "One product in range ships Prime Now!");
+        assertEquals(0, counts.getShippingProgramCount(PRIME), "No product in range ships Prime!");
+    }
+
+    @Test
+    public void getSimilarProductsWithFacets_withOpaqueFilters_matchesIndexCounts() {
+        // GIVEN
+        PriceRangeOption under50 = new PriceRangeOption(PriceRangeEnum.PRICE_25_TO_50);
+        PrimeOption opaquePrimeOnly = mock(PrimeOption.class);
+        when(opaquePrimeOnly.matches(PRIME)).thenReturn(true);
+        when(opaquePrimeOnly.matches(PRIMENOW)).thenReturn(true);
+
+        // WHEN
+        FacetedSimilarProducts scanned = productPage.getSimilarProductsWithFacets(SortByEnum.RELEVANCE, under50,
+            opaquePrimeOnly, 0, 10);
+        FacetedSimilarProducts indexed = productPage.getSimilarProductsWithFacets(SortByEnum.RELEVANCE, under50,
+            PRIME_ONLY, 0, 10);
+
+        // THEN
+        assertEquals(indexed.getProducts(), scanned.getProducts(), "Both paths should return the same page!");
+        assertEquals(indexed.getFacetCounts().getPriceRangeCounts(), scanned.getFacetCounts().getPriceRangeCounts(),
+            "Both paths should count price ranges the same!");
+        assertEquals(indexed.getFacetCounts().getShippingProgramCounts(),
+            scanned.getFacetCounts().getShippingProgramCounts(),
+            "Both paths should count shipping programs the same!");
+    }
+
+    @Test
+    public void getSimilarProductsWithFacets_productWithoutPrice_bothPathsLeaveItOut() {
+        // GIVEN
+        ProductV2 unpricedPrime = mockProduct(null, BigDecimal.valueOf(2.0), Collections.singletonList(PRIME));
+        when(productV2.getSimilarProducts()).thenReturn(Arrays.asList(cheapPrime, unpricedPrime, midPrimeNow));
+        productPage = new ProductPage(productV2);
+        PriceRangeOption under50 = new PriceRangeOption(PriceRangeEnum.PRICE_25_TO_50);
+        PrimeOption opaquePrimeOnly = mock(PrimeOption.class);
+        when(opaquePrimeOnly.matches(PRIME)).thenReturn(true);
+        when(opaquePrimeOnly.matches(PRIMENOW)).thenReturn(true);
+
+        // WHEN
+        FacetedSimilarProducts scanned = productPage.getSimilarProductsWithFacets(SortByEnum.PRICE_LOW_TO_HIGH,
+            under50, opaquePrimeOnly, 0, 10);
+        FacetedSimilarProducts indexed = productPage.getSimilarProductsWithFacets(SortByEnum.PRICE_LOW_TO_HIGH,
+            under50, PRIME_ONLY, 0, 10);
+
+        // THEN
+        assertEquals(Collections.singletonList(midPrimeNow), scanned.getProducts(),
+            "The product without a price should not match a price range!");
+        assertEquals(indexed.getProducts(), scanned.getProducts(), "Both paths should return the same page!");
+        assertEquals(indexed.getFacetCounts().getPriceRangeCounts(), scanned.getFacetCounts().getPriceRangeCounts(),
+            "Both paths should count price ranges the same!");
+        assertEquals(indexed.getFacetCounts().getShippingProgramCounts(),
+            scanned.getFacetCounts().getShippingProgramCounts(),
+            "Both paths should count shipping programs the same!");
+    }
+
+    private ProductV2 mockProduct(BigDecimal price, BigDecimal benefit, List<ShippingProgramEnum> shipping) {
+        ProductV2 product = mock(ProductV2.class);
+        when(product.isValid()).thenReturn(true);
+        when(product.getPrice()).thenReturn(price);
+        when(product.getTotalBenefitAmount()).thenReturn(benefit);
+        when(product.getShippingPrograms()).thenReturn(shipping);
+        return product;
+    }
+}
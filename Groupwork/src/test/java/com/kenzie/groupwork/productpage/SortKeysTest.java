@@ -0,0 +1,101 @@
+package com.kenzie.groupwork.productpage;
+
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SortKeysTest {
+
+    @Test
+    public void sorted_priceLowToHigh_matchesComparatorSortAndKeepsTiesInOrder() {
+        // GIVEN
+        ProductV2 first = mockProduct("30.00", "1.00");
+        ProductV2 second = mockProduct("10.00", "2.00");
+        ProductV2 third = mockProduct("30", "3.00");
+        ProductV2 fourth = mockProduct("20.005", "4.00");
+        List<ProductV2> products = Arrays.asList(first, second, third, fourth);
+        List<ProductV2> expected = new ArrayList<>(products);
+        expected.sort(Comparator.comparing(ProductV2::getPrice));
+
+        // WHEN
+        List<ProductV2> sorted = SortKeys.sorted(products, SortByEnum.PRICE_LOW_TO_HIGH);
+
+        // THEN
+        assertEquals(expected, sorted, "Sort keys should order products like the price comparator!");
+        assertEquals(Arrays.asList(second, fourth, first, third), sorted,
+            "Equal prices should keep their relevance order!");
+    }
+
+    @Test
+    public void sorted_rewardHighToLow_readsEachBenefitOnce() {
+        // GIVEN
+        ProductV2 low = mockProduct("1.00", "1.00");
+        ProductV2 high = mockProduct("1.00", "9.00");
+        ProductV2 middle = mockProduct("1.00", "5.00");
+
+        // WHEN
+        List<ProductV2> sorted = SortKeys.sorted(Arrays.asList(low, high, middle), SortByEnum.REWARD_HIGH_TO_LOW);
+
+        // THEN
+        assertEquals(Arrays.asList(high, middle, low), sorted, "Products should be ordered high to low reward!");
+        verify(middle, times(1)).getTotalBenefitAmount();
+    }
+
+    @Test
+    public void sorted_relevance_keepsOrder() {
+        // GIVEN
+        ProductV2 first = mockProduct("30.00", "1.00");
+        ProductV2 second = mockProduct("10.00", "2.00");
+
+        // WHEN
+        List<ProductV2> sorted = SortKeys.sorted(Arrays.asList(first, second), SortByEnum.RELEVANCE);
+
+        // THEN
+        assertEquals(Arrays.asList(first, second), sorted, "Relevance should keep the original order!");
+    }
+
+    @Test
+    public void sortPositions_moreThanOneRun_isStable() {
+        // GIVEN
+        long[] cents = new long[100];
+        for (int position = 0; position < cents.length; position++) {
+            cents[position] = position % 3;
+        }
+
+        // WHEN
+        int[] positions = SortKeys.sortPositions(cents, new BigDecimal[cents.length], true);
+
+        // THEN
+        int[] expected = new int[cents.length];
+        int next = 0;
+        for (int key = 2; key >= 0; key--) {
+            for (int position = 0; position < cents.length; position++) {
+                if (cents[position] == key) {
+                    expected[next++] = position;
+                }
+            }
+        }
+        assertArrayEquals(expected, positions, "Equal keys should stay in position order!");
+    }
+
+    private ProductV2 mockProduct(String price, String benefit) {
+        ProductV2 product = mock(ProductV2.class);
+        when(product.getPrice()).thenReturn(new BigDecimal(price));
+        when(product.getTotalBenefitAmount()).thenReturn(new BigDecimal(benefit));
+        return product;
+    }
+}
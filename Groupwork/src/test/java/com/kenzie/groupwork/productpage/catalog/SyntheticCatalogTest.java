@@ -0,0 +1,115 @@
+package com.kenzie.groupwork.productpage.catalog;
+
+import com.kenzie.groupwork.productpage.ProductPage;
+import com.kenzie.groupwork.productpage.types.PriceRangeEnum;
+import com.kenzie.groupwork.productpage.types.PriceRangeOption;
+import com.kenzie.groupwork.productpage.types.PrimeOption;
+import com.kenzie.groupwork.productpage.types.ProductImagesV2;
+import com.kenzie.groupwork.productpage.types.ProductV2;
+import com.kenzie.groupwork.productpage.types.SortByEnum;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyntheticCatalogTest {
+
+    @Test
+    public void build_withSameSeed_generatesSameProducts() {
+        // GIVEN
+        SyntheticCatalog first = SyntheticCatalog.builder().products(500).seed(7).build();
+        SyntheticCatalog second = SyntheticCatalog.builder().products(500).seed(7).build();
+
+        // WHEN - THEN
+        for (int id = 0; id < first.size(); id++) {
+            ProductV2 expected = first.product(id);
+            ProductV2 actual = second.product(id);
+            assertEquals(expected.getPrice(), actual.getPrice(), "Prices should match for the same seed!");
+            assertEquals(expected.getTotalBenefitAmount(), actual.getTotalBenefitAmount(),
+                "Benefits should match for the same seed!");
+            assertEquals(expected.getShippingPrograms(), actual.getShippingPrograms(),
+                "Shipping programs should match for the same seed!");
+            assertEquals(expected.isValid(), actual.isValid(), "Validity should match for the same seed!");
+            assertEquals(asins(expected.getSimilarProducts()).toString(),
+                asins(actual.getSimilarProducts()).toString(), "Similar products should match for the same seed!");
+        }
+    }
+
+    @Test
+    public void build_withDifferentSeed_generatesDifferentProducts() {
+        // GIVEN
+        SyntheticCatalog first = SyntheticCatalog.builder().products(100).seed(1).build();
+        SyntheticCatalog second = SyntheticCatalog.builder().products(100).seed(2).build();
+
+        // WHEN
+        int samePrices = 0;
+        for (int id = 0; id < first.size(); id++) {
+            if (first.product(id).getPrice().equals(second.product(id).getPrice())) {
+                samePrices++;
+            }
+        }
+
+        // THEN
+        assertNotEquals(first.size(), samePrices, "Different seeds should generate different prices!");
+    }
+
+    @Test
+    public void product_withImageRange_hasImagesWithVariants() {
+        // GIVEN
+        SyntheticCatalog catalog = SyntheticCatalog.builder().products(50).images(3, 3).build();
+
+        // WHEN
+        ProductImagesV2 productImages = catalog.product(10).productImages().get();
+
+        // THEN
+        assertEquals(3, productImages.images().size(), "Every product should have exactly three images!");
+        for (ProductImagesV2.Image image : productImages.images()) {
+            assertTrue(image.variant().length() == 4, "Image variants should be four character codes!");
+            assertTrue(image.lowRes().width() >= 200, "Images should be at least 200 pixels wide!");
+        }
+    }
+
+    @Test
+    public void product_onProductPage_rendersSimilarProducts() {
+        // GIVEN
+        SyntheticCatalog catalog = SyntheticCatalog.builder().products(1000).similarProducts(50, 50).build();
+        ProductPage productPage = new ProductPage(catalog.product(0));
+
+        // WHEN
+        List<ProductV2> similarProducts = productPage.getSimilarProducts(SortByEnum.PRICE_LOW_TO_HIGH,
+            new PriceRangeOption(PriceRangeEnum.ANY), PrimeOption.ANY_SHIPPING);
+
+        // THEN
+        assertTrue(!similarProducts.isEmpty() && similarProducts.size() <= 50,
+            "Valid similar products should be returned!");
+        for (int i = 1; i < similarProducts.size(); i++) {
+            assertTrue(similarProducts.get(i - 1).getPrice().compareTo(similarProducts.get(i).getPrice()) <= 0,
+                "Similar products should be sorted by price!");
+        }
+    }
+
+    @Test
+    public void product_withIdOutOfRange_throwsException() {
+        // GIVEN
+        SyntheticCatalog catalog = SyntheticCatalog.builder().products(10).build();
+
+        // WHEN - THEN
+        assertThrows(IndexOutOfBoundsException.class, () -> catalog.product(10),
+            "Ids past the end of the catalog should be rejected!");
+        assertThrows(IllegalArgumentException.class, () -> SyntheticCatalog.builder().images(3, 2),
+            "Image ranges with min above max should be rejected!");
+    }
+
+    private static StringBuilder asins(List<ProductV2> products) {
+        StringBuilder asins = new StringBuilder();
+        for (ProductV2 product : products) {
+            asins.append(product.asin()).append(',');
+        }
+        return asins;
+    }
+}
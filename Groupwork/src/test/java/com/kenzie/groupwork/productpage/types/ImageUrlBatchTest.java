@@ -0,0 +1,70 @@
+package com.kenzie.groupwork.productpage.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ImageUrlBatchTest {
+
+    private static final String CDN = "m.media-amazon.com";
+
+    private final ImageRendering longest = ImageRendering.scaleToLongest(160);
+    private final ImageRendering square = ImageRendering.scaleToSquare(75);
+    private final ImageRendering crop = ImageRendering.crop(250, 0, 100, 100);
+
+    @Test
+    public void render_multipleImagesAndRenderings_matchesBuilderUrls() {
+        // GIVEN
+        StyledMedia wide = new StyledMedia.Builder(500, 200).build();
+        StyledMedia tall = new StyledMedia.Builder(300, 600).build();
+        ProductImagesV2 productImages = mockImages(wide, tall);
+
+        // WHEN
+        List<Map<ImageRendering, String>> urls = new ImageUrlBatch(CDN, Arrays.asList(longest, square, crop))
+            .render(productImages);
+
+        // THEN
+        assertEquals(2, urls.size(), "There should be one map per image!");
+        assertEquals(wide.styleBuilder().cdn(CDN).scaleToLongest(160).build().url(), urls.get(0).get(longest),
+            "Batch URL should match builder URL!");
+        assertEquals(wide.styleBuilder().cdn(CDN).scaleToSquare(75).build().url(), urls.get(0).get(square),
+            "Batch URL should match builder URL!");
+        assertEquals(wide.styleBuilder().cdn(CDN).crop(250, 0, 100, 100).build().url(), urls.get(0).get(crop),
+            "Batch URL should match builder URL!");
+        assertEquals(tall.styleBuilder().cdn(CDN).scaleToLongest(160).build().url(), urls.get(1).get(longest),
+            "Batch URL should match builder URL!");
+    }
+
+    @Test
+    public void render_cropOutsideImage_leavesRenderingOut() {
+        // GIVEN
+        StyledMedia narrow = new StyledMedia.Builder(200, 200).build();
+
+        // WHEN
+        List<Map<ImageRendering, String>> urls = new ImageUrlBatch(null, Arrays.asList(longest, crop))
+            .render(mockImages(narrow));
+
+        // THEN
+        assertTrue(urls.get(0).containsKey(longest), "Scaled image should have a URL!");
+        assertFalse(urls.get(0).containsKey(crop), "Crop past the image edge has no URL!");
+    }
+
+    private ProductImagesV2 mockImages(StyledMedia... media) {
+        ProductImagesV2 productImages = mock(ProductImagesV2.class);
+        ProductImagesV2.Image[] images = new ProductImagesV2.Image[media.length];
+        for (int i = 0; i < media.length; i++) {
+            images[i] = mock(ProductImagesV2.Image.class);
+            when(images[i].lowRes()).thenReturn(media[i]);
+        }
+        when(productImages.images()).thenReturn(Arrays.asList(images));
+        return productImages;
+    }
+}
@@ -0,0 +1,47 @@
+package com.kenzie.groupwork.productpage.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriceCentsTest {
+
+    @Test
+    public void of_withUpToTwoDecimals_returnsExactCents() {
+        assertEquals(2500L, PriceCents.of(BigDecimal.valueOf(25)), "Whole dollars should convert to cents!");
+        assertEquals(1999L, PriceCents.of(new BigDecimal("19.99")), "Two decimals should convert to cents!");
+        assertEquals(1000L, PriceCents.of(new BigDecimal("10.0000")), "Trailing zeros should be ignored!");
+    }
+
+    @Test
+    public void of_withFractionalCentsOrNull_isNotRepresentable() {
+        assertFalse(PriceCents.isExact(PriceCents.of(new BigDecimal("0.125"))),
+            "Fractional cents should not be representable!");
+        assertFalse(PriceCents.isExact(PriceCents.of(null)), "Null should not be representable!");
+        assertFalse(PriceCents.isExact(PriceCents.of(new BigDecimal("1E+30"))),
+            "Amounts too large for a long should not be representable!");
+    }
+
+    @Test
+    public void compare_withInexactAmount_fallsBackToBigDecimal() {
+        BigDecimal fractional = new BigDecimal("10.005");
+
+        assertTrue(PriceCents.compare(PriceCents.of(fractional), fractional, 1001L, new BigDecimal("10.01")) < 0,
+            "Inexact amounts should compare as BigDecimals!");
+    }
+
+    @Test
+    public void priceIsWithin_withCents_matchesBigDecimalCheck() {
+        PriceRangeOption range = new PriceRangeOption(PriceRangeEnum.PRICE_25_TO_50);
+
+        for (String price : new String[] {"24.99", "25", "37.50", "50.00", "50.01", "49.999"}) {
+            BigDecimal amount = new BigDecimal(price);
+            assertEquals(range.priceIsWithin(amount), range.priceIsWithin(PriceCents.of(amount), amount),
+                "Cents check should agree with BigDecimal check for " + price);
+        }
+    }
+}
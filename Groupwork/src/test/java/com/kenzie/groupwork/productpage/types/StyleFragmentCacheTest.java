@@ -0,0 +1,60 @@
+package com.kenzie.groupwork.productpage.types;
+
+import com.kenzie.groupwork.productpage.types.StyleFragmentCache.Style;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StyleFragmentCacheTest {
+
+    @Test
+    public void fragment_repeatedSingleValue_returnsSameInstance() {
+        // GIVEN
+        StyleFragmentCache cache = new StyleFragmentCache(1000, 10);
+
+        // WHEN
+        String first = cache.fragment(Style.SCALE_TO_LONGEST, 500);
+        String second = cache.fragment(Style.SCALE_TO_LONGEST, 500);
+
+        // THEN
+        assertEquals("_SL500", first, "Fragment should be style code followed by value!");
+        assertSame(first, second, "Repeated fragment should be served from the cache!");
+    }
+
+    @Test
+    public void fragment_pastCaps_rendersWithoutCaching() {
+        // GIVEN
+        StyleFragmentCache cache = new StyleFragmentCache(100, 1);
+        cache.fragment(Style.CROP, 0, 0, 10, 10);
+
+        // WHEN
+        String crop = cache.fragment(Style.CROP, 1, 2, 3, 4);
+        String largeSide = cache.fragment(Style.SCALE_TO_SQUARE, 500);
+
+        // THEN
+        assertEquals("_CR1,2,3,4", crop, "Uncached crop should still render!");
+        assertEquals("_SS500", largeSide, "Uncached side should still render!");
+        assertEquals(1, cache.multiValueSize(), "Multi-value cache should not grow past its cap!");
+        assertNotSame(largeSide, cache.fragment(Style.SCALE_TO_SQUARE, 500),
+            "Values past maxValue should not be cached!");
+    }
+
+    @Test
+    public void builder_withCachedFragments_rendersSameUrl() {
+        // GIVEN
+        StyledMedia.Builder cached = new StyledMedia.Builder(500, 400)
+            .fragmentCache(new StyleFragmentCache(10, 0))
+            .scaleToRectangle(300, 200)
+            .blur(5);
+
+        // WHEN
+        String url = cached.build().url();
+
+        // THEN
+        assertEquals("https://PROD/images/I/null._SR300,200_BL5_.null", url,
+            "Fragments should render the same as before caching!");
+    }
+}
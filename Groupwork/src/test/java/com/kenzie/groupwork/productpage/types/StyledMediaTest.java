@@ -0,0 +1,63 @@
+package com.kenzie.groupwork.productpage.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StyledMediaTest {
+
+    private static final int WIDTH = 400;
+    private static final int HEIGHT = 300;
+
+    @Test
+    public void renderUrl_matchesBuiltUrl() {
+        // GIVEN
+        StyledMedia.Builder builder = new StyledMedia.Builder(WIDTH, HEIGHT)
+            .cdn("m.media-amazon.com")
+            .scaleToLongest(160)
+            .crop(0, 0, 100, 100);
+
+        // WHEN
+        CharSequence rendered = builder.renderUrl();
+
+        // THEN
+        assertEquals(builder.build().url(), rendered.toString(), "Rendered URL should match built URL!");
+    }
+
+    @Test
+    public void appendUrlTo_charBuffer_writesBuiltUrl() throws IOException {
+        // GIVEN
+        StyledMedia.Builder builder = new StyledMedia.Builder(WIDTH, HEIGHT)
+            .withNameAndOU("/kindle/merch/banner.jpg", "01", "515800720");
+        CharBuffer buffer = CharBuffer.allocate(256);
+
+        // WHEN
+        boolean appended = builder.appendUrlTo(buffer);
+
+        // THEN
+        assertTrue(appended, "Media with a size should append a URL!");
+        buffer.flip();
+        assertEquals(builder.build().url(), buffer.toString(), "Appended URL should match built URL!");
+    }
+
+    @Test
+    public void renderUrl_withoutSize_returnsNullAndAppendsNothing() {
+        // GIVEN
+        StyledMedia.Builder builder = new StyledMedia.Builder(0, 0);
+        StringBuilder destination = new StringBuilder();
+
+        // WHEN
+        boolean appended = builder.appendUrlTo(destination);
+
+        // THEN
+        assertNull(builder.renderUrl(), "Media without a size has no URL!");
+        assertFalse(appended, "Media without a size should not append a URL!");
+        assertEquals(0, destination.length(), "Nothing should be appended!");
+    }
+}
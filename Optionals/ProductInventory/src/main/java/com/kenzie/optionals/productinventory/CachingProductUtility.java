@@ -0,0 +1,269 @@
+package com.kenzie.optionals.productinventory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * ProductUtility that remembers product names, so shipments that share products don't look the same names up again.
+ * Names are kept for timeToLive, and products without a name (a null or empty name) are remembered too, for
+ * negativeTimeToLive, so they are not looked up on every shipment either. Once maxEntries products are cached the
+ * least recently used one is dropped.
+ * When several threads miss the same product at once, only one of them calls the wrapped ProductUtility and the
+ * others wait for its answer. Batch lookups take part in the same scheme: they send only the products that are
+ * neither cached nor being loaded by another thread to the wrapped ProductUtility, in a single call, and wait for
+ * the rest.
+ * Readiness changes as items are boxed, so readiness lookups are never cached.
+ */
+public class CachingProductUtility extends ProductUtility {
+    private final ProductUtility delegate;
+    private final long timeToLiveNanos;
+    private final long negativeTimeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Integer, CachedName> names;
+    private final ConcurrentHashMap<Integer, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructor.
+     * @param delegate - The ProductUtility to look names up with on a miss
+     * @param maxEntries - The number of products to remember before dropping the least recently used one
+     * @param timeToLive - How long to remember a product's name
+     * @param negativeTimeToLive - How long to remember that a product has no name
+     */
+    public CachingProductUtility(ProductUtility delegate, int maxEntries, Duration timeToLive,
+                                 Duration negativeTimeToLive) {
+        this(delegate, maxEntries, timeToLive, negativeTimeToLive, System::nanoTime);
+    }
+
+    /**
+     * Constructor with a custom clock, for tests.
+     * @param delegate - The ProductUtility to look names up with on a miss
+     * @param maxEntries - The number of products to remember before dropping the least recently used one
+     * @param timeToLive - How long to remember a product's name
+     * @param negativeTimeToLive - How long to remember that a product has no name
+     * @param nanoClock - Returns the current time in nanoseconds
+     */
+    CachingProductUtility(ProductUtility delegate, int maxEntries, Duration timeToLive,
+                          Duration negativeTimeToLive, LongSupplier nanoClock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be > 0, got: " + maxEntries);
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate is required");
+        this.timeToLiveNanos = positiveNanos(timeToLive, "timeToLive");
+        this.negativeTimeToLiveNanos = positiveNanos(negativeTimeToLive, "negativeTimeToLive");
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock is required");
+        this.names = new LinkedHashMap<Integer, CachedName>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedName> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public String findProductName(Integer itemID) {
+        if (itemID == null) {
+            return delegate.findProductName(itemID);
+        }
+        CachedName cached = getCached(itemID);
+        if (cached != null) {
+            return cached.name;
+        }
+
+        CompletableFuture<String> load = new CompletableFuture<>();
+        CompletableFuture<String> inProgress = loading.putIfAbsent(itemID, load);
+        if (inProgress != null) {
+            return await(inProgress);
+        }
+        try {
+            // Another thread may have finished loading this product between the cache check and putIfAbsent.
+            CachedName loaded = freshEntry(itemID);
+            String name = loaded != null ? loaded.name : delegate.findProductName(itemID);
+            if (loaded == null) {
+                put(itemID, name);
+            }
+            load.complete(name);
+            return name;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(itemID, load);
+        }
+    }
+
+    @Override
+    public Map<Integer, String> findProductNames(Collection<Integer> itemIDs) {
+        Map<Integer, String> productNames = new HashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        Map<Integer, CompletableFuture<String>> loads = new HashMap<>();
+        Map<Integer, CompletableFuture<String>> inProgress = new HashMap<>();
+        for (Integer itemID : itemIDs) {
+            CachedName cached = itemID == null ? null : getCached(itemID);
+            if (cached != null) {
+                putIfNamed(productNames, itemID, cached.name);
+            } else if (itemID == null) {
+                misses.add(itemID);
+            } else if (!loads.containsKey(itemID) && !inProgress.containsKey(itemID)) {
+                CompletableFuture<String> load = new CompletableFuture<>();
+                CompletableFuture<String> otherLoad = loading.putIfAbsent(itemID, load);
+                if (otherLoad != null) {
+                    inProgress.put(itemID, otherLoad);
+                } else {
+                    loads.put(itemID, load);
+                    misses.add(itemID);
+                }
+            }
+        }
+        try {
+            if (!misses.isEmpty()) {
+                loadMisses(misses, loads, productNames);
+            }
+        } catch (RuntimeException e) {
+            loads.values().forEach(load -> load.completeExceptionally(e));
+            throw e;
+        } finally {
+            loads.forEach(loading::remove);
+        }
+        // Other threads' loads are awaited only after ours are published, so two batches never wait on each other.
+        inProgress.forEach((itemID, load) -> putIfNamed(productNames, itemID, await(load)));
+        return productNames;
+    }
+
+    @Override
+    public Boolean isProductReady(Integer itemID) {
+        return delegate.isProductReady(itemID);
+    }
+
+    @Override
+    public Map<Integer, Boolean> areProductsReady(Collection<Integer> itemIDs) {
+        return delegate.areProductsReady(itemIDs);
+    }
+
+    /**
+     * Forget a product's name, so the next lookup asks the wrapped ProductUtility again.
+     * @param itemID - Item ID to forget
+     */
+    public synchronized void invalidate(Integer itemID) {
+        names.remove(itemID);
+    }
+
+    /**
+     * Count the name lookups answered from the cache.
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Count the name lookups that were not cached.
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Count the products currently cached, including expired ones not yet replaced.
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+
+    private synchronized CachedName getCached(Integer itemID) {
+        CachedName entry = freshEntry(itemID);
+        if (entry != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return entry;
+    }
+
+    private synchronized CachedName freshEntry(Integer itemID) {
+        CachedName entry = names.get(itemID);
+        return entry != null && nanoClock.getAsLong() - entry.expiresAtNanos < 0 ? entry : null;
+    }
+
+    private synchronized void put(Integer itemID, String name) {
+        boolean named = name != null && !name.isEmpty();
+        long expiresAtNanos = nanoClock.getAsLong() + (named ? timeToLiveNanos : negativeTimeToLiveNanos);
+        names.put(itemID, new CachedName(name, expiresAtNanos));
+    }
+
+    private void loadMisses(List<Integer> misses, Map<Integer, CompletableFuture<String>> loads,
+                            Map<Integer, String> productNames) {
+        // Another thread may have finished loading some of these products between the cache check and putIfAbsent.
+        List<Integer> unloaded = new ArrayList<>();
+        for (Integer itemID : misses) {
+            CachedName loaded = itemID == null ? null : freshEntry(itemID);
+            if (loaded != null) {
+                loads.get(itemID).complete(loaded.name);
+                putIfNamed(productNames, itemID, loaded.name);
+            } else {
+                unloaded.add(itemID);
+            }
+        }
+        if (unloaded.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> loadedNames = delegate.findProductNames(unloaded);
+        for (Integer itemID : unloaded) {
+            String name = loadedNames.get(itemID);
+            if (itemID != null) {
+                put(itemID, name);
+                loads.get(itemID).complete(name);
+            }
+            putIfNamed(productNames, itemID, name);
+        }
+    }
+
+    private static void putIfNamed(Map<Integer, String> productNames, Integer itemID, String name) {
+        if (name != null) {
+            productNames.put(itemID, name);
+        }
+    }
+
+    private static String await(CompletableFuture<String> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static long positiveNanos(Duration duration, String name) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive, got: " + duration);
+        }
+        return duration.toNanos();
+    }
+
+    private static final class CachedName {
+        private final String name;
+        private final long expiresAtNanos;
+
+        CachedName(String name, long expiresAtNanos) {
+            this.name = name;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
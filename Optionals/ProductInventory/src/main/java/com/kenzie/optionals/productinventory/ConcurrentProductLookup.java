@@ -0,0 +1,186 @@
+package com.kenzie.optionals.productinventory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Overlaps single-item ProductUtility calls, so a shipment waits for its slowest calls instead of all of them
+ * one after another.
+ * Each call runs on the given executor. At most maxConcurrency calls are in flight at once; the caller waits for a
+ * free slot before starting the next one. A call that throws or takes longer than the call timeout is treated as
+ * having no result, so its product is left out the same way a product without a name is. A timed out call keeps
+ * its slot until it really finishes, so a slow service never sees more than maxConcurrency calls.
+ * A lookup gives itself as long as its calls would take if each used its full timeout, maxConcurrency at a time.
+ * A call that cannot get a slot before then is treated as timed out, so calls that never return cannot block later
+ * lookups forever.
+ * The latency of every call that finishes is recorded in a histogram per call type.
+ */
+public class ConcurrentProductLookup {
+
+    /**
+     * The ProductUtility calls made by this lookup.
+     */
+    public enum CallType {
+        FIND_PRODUCT_NAME,
+        IS_PRODUCT_READY
+    }
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Semaphore inFlight;
+    private final long callTimeoutNanos;
+    private final Map<CallType, LatencyHistogram> latencies = new EnumMap<>(CallType.class);
+
+    /**
+     * Constructor.
+     * @param executor - Runs the ProductUtility calls
+     * @param maxConcurrency - The most calls allowed in flight at once
+     * @param callTimeout - How long to wait for each call
+     */
+    public ConcurrentProductLookup(Executor executor, int maxConcurrency, Duration callTimeout) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be > 0, got: " + maxConcurrency);
+        }
+        if (callTimeout == null || callTimeout.isNegative() || callTimeout.isZero()) {
+            throw new IllegalArgumentException("callTimeout must be positive, got: " + callTimeout);
+        }
+        this.executor = Objects.requireNonNull(executor, "executor is required");
+        this.maxConcurrency = maxConcurrency;
+        this.inFlight = new Semaphore(maxConcurrency);
+        this.callTimeoutNanos = callTimeout.toNanos();
+        for (CallType callType : CallType.values()) {
+            latencies.put(callType, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Find the names of several products concurrently.
+     * @param productUtility - The service used to retrieve product information
+     * @param productIDs - The products to find names for
+     * @return Map of product ID to name. Products without a name, or whose call failed or timed out, are left out.
+     */
+    public Map<Integer, String> findProductNames(ProductUtility productUtility, List<Integer> productIDs) {
+        Map<Integer, String> productNames = new HashMap<>();
+        fanOut(CallType.FIND_PRODUCT_NAME, productIDs, productUtility::findProductName).forEach((productID, name) -> {
+            if (name != null && !name.isEmpty()) {
+                productNames.put(productID, name);
+            }
+        });
+        return productNames;
+    }
+
+    /**
+     * Find the names of several products concurrently, keyed by plain int IDs. The calls are tracked and the names
+     * collected in IntObjectMaps, so no boxed map is built; each ID is still boxed for its ProductUtility call.
+     * @param productUtility - The service used to retrieve product information
+     * @param productIDs - The products to find names for
+     * @return IntObjectMap of product ID to name. Products without a name, or whose call failed or timed out, are
+     *     left out.
+     */
+    public IntObjectMap<String> findProductNamesByID(ProductUtility productUtility, int[] productIDs) {
+        long deadlineNanos = System.nanoTime() + lookupTimeoutNanos(productIDs.length);
+        IntObjectMap<CompletableFuture<String>> calls = new IntObjectMap<>(productIDs.length);
+        for (int productID : productIDs) {
+            if (!calls.containsKey(productID)) {
+                calls.put(productID, call(CallType.FIND_PRODUCT_NAME, deadlineNanos,
+                    () -> productUtility.findProductName(productID)));
+            }
+        }
+        IntObjectMap<String> productNames = new IntObjectMap<>(calls.size());
+        calls.forEach((productID, call) -> {
+            String name = call.handle((value, error) -> value).join();
+            if (name != null && !name.isEmpty()) {
+                productNames.put(productID, name);
+            }
+        });
+        return productNames;
+    }
+
+    /**
+     * Determine whether several products are ready to ship concurrently.
+     * @param productUtility - The service used to retrieve product information
+     * @param productIDs - The products to determine readiness for
+     * @return Map of product ID to readiness. Products with unknown readiness, or whose call failed or timed out,
+     *     are left out.
+     */
+    public Map<Integer, Boolean> areProductsReady(ProductUtility productUtility, List<Integer> productIDs) {
+        Map<Integer, Boolean> readiness = new HashMap<>();
+        fanOut(CallType.IS_PRODUCT_READY, productIDs, productUtility::isProductReady).forEach((productID, ready) -> {
+            if (ready != null) {
+                readiness.put(productID, ready);
+            }
+        });
+        return readiness;
+    }
+
+    /**
+     * Get the latencies of the calls of one type made so far.
+     * @param callType - The ProductUtility call
+     * @return the latency histogram for that call
+     */
+    public LatencyHistogram getLatencyHistogram(CallType callType) {
+        return latencies.get(callType);
+    }
+
+    private <T> Map<Integer, T> fanOut(CallType callType,
+                                       List<Integer> productIDs,
+                                       Function<Integer, T> lookup) {
+        long deadlineNanos = System.nanoTime() + lookupTimeoutNanos(productIDs.size());
+        Map<Integer, CompletableFuture<T>> calls = new LinkedHashMap<>();
+        for (Integer productID : productIDs) {
+            if (!calls.containsKey(productID)) {
+                calls.put(productID, call(callType, deadlineNanos, () -> lookup.apply(productID)));
+            }
+        }
+        Map<Integer, T> results = new HashMap<>();
+        calls.forEach((productID, call) -> results.put(productID, call.handle((value, error) -> value).join()));
+        return results;
+    }
+
+    private long lookupTimeoutNanos(int callCount) {
+        long rounds = Math.max(1, (callCount + (long) maxConcurrency - 1) / maxConcurrency);
+        return rounds > Long.MAX_VALUE / 2 / callTimeoutNanos ? Long.MAX_VALUE / 2 : rounds * callTimeoutNanos;
+    }
+
+    private <T> CompletableFuture<T> call(CallType callType, long deadlineNanos, Supplier<T> lookup) {
+        try {
+            long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            if (!inFlight.tryAcquire(remainingNanos, TimeUnit.NANOSECONDS)) {
+                return CompletableFuture.failedFuture(new TimeoutException("No free slot before the lookup deadline"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        LatencyHistogram histogram = latencies.get(callType);
+        CompletableFuture<T> call;
+        try {
+            call = CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return lookup.get();
+                } finally {
+                    histogram.record(System.nanoTime() - start);
+                    inFlight.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return call.orTimeout(callTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+}
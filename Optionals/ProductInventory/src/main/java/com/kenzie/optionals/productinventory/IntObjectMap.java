@@ -0,0 +1,216 @@
+package com.kenzie.optionals.productinventory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map from int keys to non-null values that stores keys as plain ints, with no Integer boxing and no entry objects.
+ * Keys and values live in two parallel arrays indexed by the key's hash, and collisions move on to the next slot
+ * (open addressing with linear probing). The arrays double when they become half full. Entries cannot be removed.
+ * Not thread-safe.
+ * @param <V> the type of value
+ */
+public class IntObjectMap<V> {
+    private static final int MIN_CAPACITY = 8;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map sized to hold the given number of entries without growing.
+     * @param expectedSize - The number of entries expected
+     */
+    public IntObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must be >= 0, got: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Associate a value with a key, replacing any value it had.
+     * @param key - The key
+     * @param value - The value, not null
+     * @return the previous value for the key, or null if it had none
+     */
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        int slot = slotOf(key);
+        V previous = valueAt(slot);
+        if (previous == null) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return previous;
+    }
+
+    /**
+     * Get the value for a key.
+     * @param key - The key
+     * @return the value, or null if the key has none
+     */
+    public V get(int key) {
+        return valueAt(slotOf(key));
+    }
+
+    /**
+     * Determine whether a key has a value.
+     * @param key - The key
+     * @return true if the key has a value
+     */
+    public boolean containsKey(int key) {
+        return values[slotOf(key)] != null;
+    }
+
+    /**
+     * Count the entries.
+     * @return the number of keys with a value
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determine whether the map is empty.
+     * @return true if no key has a value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copy the keys.
+     * @return the keys that have a value, in no particular order
+     */
+    public int[] keys() {
+        int[] present = new int[size];
+        int next = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                present[next++] = keys[slot];
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Pass every entry to an action, in no particular order.
+     * @param action - Called with each key and its value
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            V value = valueAt(slot);
+            if (value != null) {
+                action.accept(keys[slot], value);
+            }
+        }
+    }
+
+    /**
+     * Copy the entries into a boxed map, for callers that need a java.util.Map.
+     * @return a new HashMap with the same entries
+     */
+    public Map<Integer, V> toMap() {
+        Map<Integer, V> map = new HashMap<>();
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntObjectMap)) {
+            return false;
+        }
+        IntObjectMap<?> other = (IntObjectMap<?>) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null && !values[slot].equals(other.get(keys[slot]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != null) {
+                hash += keys[slot] ^ values[slot].hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    /**
+     * Receives the entries of an IntObjectMap.
+     * @param <V> the type of value
+     */
+    public interface EntryConsumer<V> {
+        /**
+         * Receive one entry.
+         * @param key - The entry's key
+         * @param value - The entry's value
+         */
+        void accept(int key, V value);
+    }
+
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int hash = key * HASH_MULTIPLIER;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldValues[slot] != null) {
+                int newSlot = slotOf(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+            }
+        }
+    }
+}
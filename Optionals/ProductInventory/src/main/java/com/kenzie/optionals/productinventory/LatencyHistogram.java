@@ -0,0 +1,77 @@
+package com.kenzie.optionals.productinventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of call latencies with power-of-two microsecond buckets.
+ * Bucket 0 counts calls under 2 microseconds, and bucket i counts calls from 2^i up to 2^(i + 1) microseconds.
+ * Calls slower than the last bucket are counted in it.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 32;
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Record one call.
+     * @param latencyNanos - How long the call took, in nanoseconds
+     */
+    public void record(long latencyNanos) {
+        long micros = Math.max(1L, latencyNanos / NANOS_PER_MICRO);
+        int bucket = Math.min(BUCKETS - 1, Long.SIZE - 1 - Long.numberOfLeadingZeros(micros));
+        counts.incrementAndGet(bucket);
+    }
+
+    /**
+     * Count the calls recorded so far.
+     * @return the number of calls
+     */
+    public long getCount() {
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            count += counts.get(bucket);
+        }
+        return count;
+    }
+
+    /**
+     * Copy the count of each bucket.
+     * @return the bucket counts, indexed by bucket
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            snapshot[bucket] = counts.get(bucket);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Estimate a latency percentile from the buckets.
+     * @param percentile - The percentile to estimate, from 0 to 100
+     * @return the upper bound in microseconds of the bucket holding that percentile, or 0 if nothing was recorded
+     */
+    public long getPercentileMicros(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100, got: " + percentile);
+        }
+        long[] snapshot = getBucketCounts();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += snapshot[bucket];
+            if (seen >= rank) {
+                return 1L << (bucket + 1);
+            }
+        }
+        return 1L << BUCKETS;
+    }
+}
@@ -1,18 +1,25 @@
 package com.kenzie.optionals.productinventory;
 
+import java.util.AbstractList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 
 /**
- * ProductInventory collects groups of items to be shipped. It uses a 
+ * ProductInventory collects groups of items to be shipped. It uses a
  * ProductUtility to obtain individual product names, and to determine
  * whether each item is boxed and ready to be shipped.
  */
 public class ProductInventory {
     private ProductUtility productUtility;
     private List<Integer> productIDs;
+    private int[] productIDArray;
+    private int batchSize;
+    private ConcurrentProductLookup concurrentLookup;
+    private volatile ProductReadiness readiness;
 
     /**
      * Constructor.
@@ -31,12 +38,117 @@ public class ProductInventory {
         this.productIDs = productIDs;
     }
 
+    /**
+     * Constructor for shipments that look products up in batches, one ProductUtility call per batch of IDs
+     * instead of one call per ID.
+     * @param productUtility - The service used to retrieve product information
+     * @param productIDs - A list of package IDs
+     * @param batchSize - The most IDs to send to the ProductUtility in one call
+     */
+    public ProductInventory(ProductUtility productUtility, List<Integer> productIDs, int batchSize) {
+        this(productUtility, productIDs);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be > 0, got: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Constructor for shipments that look products up one at a time, with the calls overlapped.
+     * @param productUtility - The service used to retrieve product information
+     * @param productIDs - A list of package IDs
+     * @param concurrentLookup - Runs the ProductUtility calls concurrently
+     */
+    public ProductInventory(ProductUtility productUtility, List<Integer> productIDs,
+                            ConcurrentProductLookup concurrentLookup) {
+        this(productUtility, productIDs);
+        if (concurrentLookup == null) {
+            throw new IllegalArgumentException("concurrentLookup is null");
+        }
+        this.concurrentLookup = concurrentLookup;
+    }
+
+    /**
+     * Create a shipment for large waves, keeping the IDs as plain ints instead of a list of Integers.
+     * @param productUtility - The service used to retrieve product information
+     * @param productIDs - An array of package IDs
+     * @return the shipment
+     */
+    public static ProductInventory ofProductIDs(ProductUtility productUtility, int[] productIDs) {
+        ProductInventory shipment = new ProductInventory(productUtility,
+            productIDs == null ? null : new IntArrayList(productIDs));
+        shipment.productIDArray = productIDs;
+        return shipment;
+    }
+
     /**
      * Find the product names for the IDs in the package.
      * @return Map[Integer, String] of product IDs to product names. Does not include products without names.
      */
     Map<Integer, String> findProductNames() {
-        return new HashMap<Integer, String>();  // Placeholder
+        ProductUtility utility = Optional.ofNullable(productUtility)
+            .orElseThrow(() -> new IllegalArgumentException("productUtility is null"));
+        List<Integer> ids = Optional.ofNullable(productIDs)
+            .orElseThrow(() -> new IllegalArgumentException("productID is null"));
+
+        if (concurrentLookup != null) {
+            return concurrentLookup.findProductNames(utility, ids);
+        }
+        Map<Integer, String> productNames = new HashMap<>();
+        if (batchSize > 0) {
+            int from = 0;
+            while (from < ids.size()) {
+                int to = from + Math.min(batchSize, ids.size() - from);
+                List<Integer> batch = ids.subList(from, to);
+                Map<Integer, String> batchNames = utility.findProductNames(batch);
+                for (Integer productID : batch) {
+                    putIfNamed(productNames, productID, batchNames.get(productID));
+                }
+                from = to;
+            }
+        } else {
+            for (Integer productID : ids) {
+                putIfNamed(productNames, productID, utility.findProductName(productID));
+            }
+        }
+        return productNames;
+    }
+
+    /**
+     * Find the product names for the IDs in the package, keyed by plain int IDs. For large shipments this avoids
+     * the Integer keys and entry objects of a HashMap. Shipments created with ofProductIDs are looked up straight
+     * from their int array; other shipments copy their non-null IDs into one first. ProductUtility takes and returns
+     * Integer IDs, so each ID is still boxed for the call that looks it up.
+     * @return IntObjectMap of product IDs to product names. Does not include products without names, or null IDs.
+     */
+    IntObjectMap<String> findProductNamesByID() {
+        ProductUtility utility = Optional.ofNullable(productUtility)
+            .orElseThrow(() -> new IllegalArgumentException("productUtility is null"));
+        List<Integer> ids = Optional.ofNullable(productIDs)
+            .orElseThrow(() -> new IllegalArgumentException("productID is null"));
+
+        int[] intIDs = productIDArray != null ? productIDArray : nonNullIDs(ids);
+        if (concurrentLookup != null) {
+            return concurrentLookup.findProductNamesByID(utility, intIDs);
+        }
+        IntObjectMap<String> productNames = new IntObjectMap<>(intIDs.length);
+        if (batchSize > 0) {
+            List<Integer> idList = new IntArrayList(intIDs);
+            int from = 0;
+            while (from < intIDs.length) {
+                int to = from + Math.min(batchSize, intIDs.length - from);
+                Map<Integer, String> batchNames = utility.findProductNames(idList.subList(from, to));
+                for (int index = from; index < to; index++) {
+                    putIfNamed(productNames, intIDs[index], batchNames.get(intIDs[index]));
+                }
+                from = to;
+            }
+        } else {
+            for (int productID : intIDs) {
+                putIfNamed(productNames, productID, utility.findProductName(productID));
+            }
+        }
+        return productNames;
     }
 
     /**
@@ -45,6 +157,118 @@ public class ProductInventory {
      * @return Optional[Boolean] containing whether a product is ready to ship.
      */
     Optional<Boolean> isProductReady(Integer productID) {
-        return Optional.empty();  // Placeholder
+        ProductUtility utility = Optional.ofNullable(productUtility)
+            .orElseThrow(() -> new IllegalArgumentException("productUtility is null"));
+        if (productID == null) {
+            throw new IllegalArgumentException("The productID was null");
+        }
+        return Optional.ofNullable(utility.isProductReady(productID));
+    }
+
+    /**
+     * Determine whether each product in the package is ready to ship, in batches when a batch size was given or
+     * concurrently when a concurrent lookup was given.
+     * @return Map[Integer, Boolean] of product IDs to readiness. Does not include products with unknown readiness.
+     */
+    Map<Integer, Boolean> areProductsReady() {
+        ProductUtility utility = Optional.ofNullable(productUtility)
+            .orElseThrow(() -> new IllegalArgumentException("productUtility is null"));
+        List<Integer> ids = Optional.ofNullable(productIDs)
+            .orElseThrow(() -> new IllegalArgumentException("productID is null"));
+
+        if (concurrentLookup != null) {
+            return concurrentLookup.areProductsReady(utility, ids);
+        }
+        Map<Integer, Boolean> readiness = new HashMap<>();
+        if (batchSize > 0) {
+            int from = 0;
+            while (from < ids.size()) {
+                int to = from + Math.min(batchSize, ids.size() - from);
+                List<Integer> batch = ids.subList(from, to);
+                Map<Integer, Boolean> batchReadiness = utility.areProductsReady(batch);
+                for (Integer productID : batch) {
+                    putIfKnown(readiness, productID, batchReadiness.get(productID));
+                }
+                from = to;
+            }
+        } else {
+            for (Integer productID : ids) {
+                putIfKnown(readiness, productID, utility.isProductReady(productID));
+            }
+        }
+        return readiness;
+    }
+
+    /**
+     * Look up the readiness of every product in the package again, in batches when a batch size was given or
+     * concurrently when a concurrent lookup was given, and keep it for getReadiness.
+     * Refreshes are not serialized: if two threads refresh at once, each gets the readiness it looked up, and
+     * whichever finishes last is the one kept.
+     * @return the refreshed readiness of the package
+     */
+    ProductReadiness refreshReadiness() {
+        ProductReadiness refreshed = new ProductReadiness(productIDs, areProductsReady());
+        readiness = refreshed;
+        return refreshed;
+    }
+
+    /**
+     * Get the readiness of the package as of the last refresh, refreshing it if it was never looked up.
+     * ProductReadiness is immutable and is kept in a volatile field, so any thread sees a complete snapshot. Threads
+     * that call this at the same time before the first refresh may each look the readiness up once.
+     * @return the readiness of the package
+     */
+    ProductReadiness getReadiness() {
+        ProductReadiness current = readiness;
+        if (current == null) {
+            return refreshReadiness();
+        }
+        return current;
+    }
+
+    private static void putIfNamed(Map<Integer, String> productNames, Integer productID, String name) {
+        if (name != null && !name.isEmpty()) {
+            productNames.put(productID, name);
+        }
+    }
+
+    private static void putIfNamed(IntObjectMap<String> productNames, int productID, String name) {
+        if (name != null && !name.isEmpty()) {
+            productNames.put(productID, name);
+        }
+    }
+
+    private static int[] nonNullIDs(List<Integer> ids) {
+        return ids.stream()
+            .filter(Objects::nonNull)
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private static void putIfKnown(Map<Integer, Boolean> readiness, Integer productID, Boolean ready) {
+        if (ready != null) {
+            readiness.put(productID, ready);
+        }
+    }
+
+    /**
+     * Read-only List view of an int array, so the List-based lookups work on shipments built from int IDs.
+     */
+    private static final class IntArrayList extends AbstractList<Integer> implements RandomAccess {
+        private final int[] values;
+
+        IntArrayList(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
     }
 }
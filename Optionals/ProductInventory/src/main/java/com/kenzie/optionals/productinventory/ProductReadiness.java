@@ -0,0 +1,136 @@
+package com.kenzie.optionals.productinventory;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Snapshot of whether each item in a shipment is ready, not ready, or of unknown readiness, kept as bitsets over
+ * the item positions so wave-release checks are bit scans rather than per-item lookups.
+ * An item listed more than once is counted once per position.
+ */
+public class ProductReadiness {
+    private final int[] productIDs;
+    private final BitSet ready;
+    private final BitSet notReady;
+    private final int readyCount;
+    private final int notReadyCount;
+
+    /**
+     * Constructor.
+     * @param productIDs - The item IDs, by position. Null IDs have unknown readiness.
+     * @param readiness - Map of item ID to readiness. Items not in the map have unknown readiness.
+     */
+    ProductReadiness(List<Integer> productIDs, Map<Integer, Boolean> readiness) {
+        this.productIDs = new int[productIDs.size()];
+        this.ready = new BitSet(productIDs.size());
+        this.notReady = new BitSet(productIDs.size());
+        int position = 0;
+        for (Integer productID : productIDs) {
+            Boolean productReady = productID == null ? null : readiness.get(productID);
+            if (productID != null) {
+                this.productIDs[position] = productID;
+            }
+            if (Boolean.TRUE.equals(productReady)) {
+                ready.set(position);
+            } else if (Boolean.FALSE.equals(productReady)) {
+                notReady.set(position);
+            }
+            position++;
+        }
+        this.readyCount = ready.cardinality();
+        this.notReadyCount = notReady.cardinality();
+    }
+
+    /**
+     * Count the items in the shipment.
+     * @return the number of items
+     */
+    public int size() {
+        return productIDs.length;
+    }
+
+    /**
+     * Count the items that are ready to ship.
+     * @return the number of ready items
+     */
+    public int getReadyCount() {
+        return readyCount;
+    }
+
+    /**
+     * Count the items that are known not to be ready to ship.
+     * @return the number of items that are not ready
+     */
+    public int getNotReadyCount() {
+        return notReadyCount;
+    }
+
+    /**
+     * Count the items whose readiness is unknown.
+     * @return the number of items of unknown readiness
+     */
+    public int getUnknownCount() {
+        return productIDs.length - readyCount - notReadyCount;
+    }
+
+    /**
+     * Determine whether the whole shipment can be released.
+     * @return true if every item is known to be ready
+     */
+    public boolean isAllReady() {
+        return readyCount == productIDs.length;
+    }
+
+    /**
+     * Iterate over the IDs of the items that are ready to ship, in shipment order.
+     * @return iterator of ready item IDs
+     */
+    public PrimitiveIterator.OfInt readyProductIDs() {
+        return new ProductIDIterator(ready);
+    }
+
+    /**
+     * Iterate over the IDs of the items that are known not to be ready to ship, in shipment order.
+     * @return iterator of item IDs that are not ready
+     */
+    public PrimitiveIterator.OfInt notReadyProductIDs() {
+        return new ProductIDIterator(notReady);
+    }
+
+    /**
+     * Stream the IDs of the items that are ready to ship, in shipment order.
+     * @return stream of ready item IDs
+     */
+    public IntStream readyProductIDStream() {
+        return ready.stream().map(position -> productIDs[position]);
+    }
+
+    private final class ProductIDIterator implements PrimitiveIterator.OfInt {
+        private final BitSet positions;
+        private int next;
+
+        ProductIDIterator(BitSet positions) {
+            this.positions = positions;
+            this.next = positions.nextSetBit(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            int productID = productIDs[next];
+            next = positions.nextSetBit(next + 1);
+            return productID;
+        }
+    }
+}
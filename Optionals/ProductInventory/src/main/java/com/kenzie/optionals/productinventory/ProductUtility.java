@@ -1,5 +1,9 @@
 package com.kenzie.optionals.productinventory;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 public class ProductUtility {
     // This class will be mocked in the test cases.
 
@@ -20,4 +24,38 @@ public class ProductUtility {
     public Boolean isProductReady(Integer itemID) {
         return false;
     }
+
+    /**
+     * Find the names of several items in one call. Services that support batch lookups should override this;
+     * by default each item is looked up on its own.
+     * @param itemIDs - Item IDs to find names for
+     * @return Map of item ID to name. Items without a name are left out.
+     */
+    public Map<Integer, String> findProductNames(Collection<Integer> itemIDs) {
+        Map<Integer, String> names = new HashMap<>();
+        for (Integer itemID : itemIDs) {
+            String name = findProductName(itemID);
+            if (name != null) {
+                names.put(itemID, name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Determine the readiness of several items in one call. Services that support batch lookups should override
+     * this; by default each item is looked up on its own.
+     * @param itemIDs - Item IDs to determine readiness for
+     * @return Map of item ID to whether it is ready to ship. Items with unknown readiness are left out.
+     */
+    public Map<Integer, Boolean> areProductsReady(Collection<Integer> itemIDs) {
+        Map<Integer, Boolean> readiness = new HashMap<>();
+        for (Integer itemID : itemIDs) {
+            Boolean ready = isProductReady(itemID);
+            if (ready != null) {
+                readiness.put(itemID, ready);
+            }
+        }
+        return readiness;
+    }
 }
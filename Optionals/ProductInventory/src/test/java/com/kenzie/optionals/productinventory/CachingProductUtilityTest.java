@@ -0,0 +1,206 @@
+package com.kenzie.optionals.productinventory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingProductUtilityTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final Duration NEGATIVE_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    ProductUtility productUtility;
+    AtomicLong nanoTime;
+    CachingProductUtility cachingUtility;
+
+    @BeforeEach
+    public void setup() {
+        productUtility = Mockito.mock(ProductUtility.class);
+        nanoTime = new AtomicLong();
+        cachingUtility = new CachingProductUtility(productUtility, 2, TIME_TO_LIVE, NEGATIVE_TIME_TO_LIVE,
+            nanoTime::get);
+    }
+
+    @Test
+    public void findProductName_repeatedLookups_callsUtilityOnce() {
+        // GIVEN
+        // A product with a name
+        when(productUtility.findProductName(5)).thenReturn("Outlander");
+
+        // WHEN
+        // We look it up across several shipments
+        new ProductInventory(cachingUtility, Arrays.asList(5)).findProductNames();
+        Map<Integer, String> itemNames = new ProductInventory(cachingUtility, Arrays.asList(5)).findProductNames();
+
+        // THEN
+        // The wrapped utility was only asked once
+        verify(productUtility, times(1)).findProductName(5);
+        Assertions.assertEquals("Outlander", itemNames.get(5), "Map had wrong name");
+    }
+
+    @Test
+    public void findProductName_noName_isCachedUntilNegativeTimeToLive() {
+        // GIVEN
+        // A product without a name
+        when(productUtility.findProductName(6)).thenReturn(null);
+
+        // WHEN
+        // We look it up before and after the negative time to live
+        cachingUtility.findProductName(6);
+        cachingUtility.findProductName(6);
+        nanoTime.addAndGet(NEGATIVE_TIME_TO_LIVE.toNanos());
+        String name = cachingUtility.findProductName(6);
+
+        // THEN
+        // The missing name was remembered, then looked up again once it expired
+        verify(productUtility, times(2)).findProductName(6);
+        Assertions.assertNull(name, "Product should still have no name");
+    }
+
+    @Test
+    public void findProductName_pastMaxEntries_evictsLeastRecentlyUsed() {
+        // GIVEN
+        // Three products in a cache that holds two
+        when(productUtility.findProductName(1)).thenReturn("One");
+        when(productUtility.findProductName(2)).thenReturn("Two");
+        when(productUtility.findProductName(3)).thenReturn("Three");
+
+        // WHEN
+        // The first product is used again before the third is added
+        cachingUtility.findProductName(1);
+        cachingUtility.findProductName(2);
+        cachingUtility.findProductName(1);
+        cachingUtility.findProductName(3);
+        cachingUtility.findProductName(1);
+        cachingUtility.findProductName(2);
+
+        // THEN
+        // The second product was evicted and looked up again
+        verify(productUtility, times(1)).findProductName(1);
+        verify(productUtility, times(2)).findProductName(2);
+        Assertions.assertEquals(2, cachingUtility.size(), "Cache was wrong size");
+    }
+
+    @Test
+    public void findProductName_concurrentMisses_callsUtilityOnce() throws Exception {
+        // GIVEN
+        // A slow lookup that every thread misses at once
+        CountDownLatch release = new CountDownLatch(1);
+        when(productUtility.findProductName(5)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "Outlander";
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // WHEN
+        // Eight threads look the product up together
+        List<Future<String>> names = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                names.add(executor.submit(() -> cachingUtility.findProductName(5)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> name : names) {
+                Assertions.assertEquals("Outlander", name.get(5, TimeUnit.SECONDS), "Thread got wrong name");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // THEN
+        // Only one of them called the wrapped utility
+        verify(productUtility, times(1)).findProductName(5);
+    }
+
+    @Test
+    public void findProductNames_someCached_sendsOnlyMissesInOneBatch() {
+        // GIVEN
+        // One product already cached
+        when(productUtility.findProductName(1)).thenReturn("One");
+        when(productUtility.findProductNames(Arrays.asList(2, 6))).thenReturn(Collections.singletonMap(2, "Two"));
+        cachingUtility.findProductName(1);
+
+        // WHEN
+        // We look up a batch including it
+        Map<Integer, String> itemNames = cachingUtility.findProductNames(Arrays.asList(1, 2, 6));
+
+        // THEN
+        // Only the misses were sent, in one call
+        verify(productUtility, times(1)).findProductNames(Arrays.asList(2, 6));
+        Assertions.assertEquals(2, itemNames.size(), "Map was wrong size");
+        Assertions.assertEquals("Two", itemNames.get(2), "Map had wrong name");
+    }
+
+    @Test
+    public void findProductNames_productLoadingOnAnotherThread_waitsInsteadOfLookingUpAgain() throws Exception {
+        // GIVEN
+        // A slow single lookup already in flight for one product of the batch
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productUtility.findProductName(5)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "Outlander";
+        });
+        when(productUtility.findProductNames(Arrays.asList(6))).thenReturn(Collections.singletonMap(6, "Tossed Salad"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // WHEN
+        // We look up a batch including it while it loads
+        Map<Integer, String> itemNames;
+        try {
+            Future<String> single = executor.submit(() -> cachingUtility.findProductName(5));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS), "Single lookup never started");
+            Future<Map<Integer, String>> batch = executor.submit(
+                () -> cachingUtility.findProductNames(Arrays.asList(5, 6)));
+            Thread.sleep(100);
+            release.countDown();
+            itemNames = batch.get(5, TimeUnit.SECONDS);
+            single.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // THEN
+        // The batch only sent the other product, and used the in-flight name
+        verify(productUtility, times(1)).findProductName(5);
+        verify(productUtility, times(1)).findProductNames(Arrays.asList(6));
+        Assertions.assertEquals("Outlander", itemNames.get(5), "Map had wrong name");
+        Assertions.assertEquals("Tossed Salad", itemNames.get(6), "Map had wrong name");
+    }
+
+    @Test
+    public void isProductReady_repeatedLookups_isNotCached() {
+        // GIVEN
+        // A product whose readiness changes
+        when(productUtility.isProductReady(5)).thenReturn(false, true);
+
+        // WHEN
+        // We check readiness twice
+        cachingUtility.isProductReady(5);
+        Boolean ready = cachingUtility.isProductReady(5);
+
+        // THEN
+        // Both lookups reached the wrapped utility
+        Assertions.assertEquals(true, ready, "Readiness should not be cached");
+    }
+}
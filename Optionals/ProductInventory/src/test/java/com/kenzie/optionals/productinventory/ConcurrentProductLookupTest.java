@@ -0,0 +1,195 @@
+package com.kenzie.optionals.productinventory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+public class ConcurrentProductLookupTest {
+
+    ProductUtility productUtility;
+    ExecutorService executor;
+
+    @BeforeEach
+    public void setup() {
+        productUtility = Mockito.mock(ProductUtility.class);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void findProductNames_concurrentLookup_omitsProductsWithoutNames() {
+        // GIVEN
+        // Three items, one without a name and one with an empty name
+        when(productUtility.findProductName(5)).thenReturn("Outlander");
+        when(productUtility.findProductName(6)).thenReturn(null);
+        when(productUtility.findProductName(7)).thenReturn("");
+        ConcurrentProductLookup lookup = new ConcurrentProductLookup(executor, 2, Duration.ofSeconds(5));
+
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(5, 6, 7), lookup);
+
+        // WHEN
+        // We get the product names
+        Map<Integer, String> itemNames = shipment.findProductNames();
+
+        // THEN
+        // Only the named item is included, and every call was timed
+        Assertions.assertAll("Checking to see if Map is populated correctly",
+            () -> Assertions.assertEquals(1, itemNames.size(), "Map was wrong size"),
+            () -> Assertions.assertEquals("Outlander", itemNames.get(5), "Map had wrong name"),
+            () -> Assertions.assertEquals(3, lookup.getLatencyHistogram(
+                ConcurrentProductLookup.CallType.FIND_PRODUCT_NAME).getCount(), "Histogram had wrong count")
+        );
+    }
+
+    @Test
+    public void findProductNamesByID_concurrentLookup_looksUpEachIDOnce() {
+        // GIVEN
+        // Three items given as ints, one listed twice and one without a name
+        when(productUtility.findProductName(5)).thenReturn("Outlander");
+        when(productUtility.findProductName(6)).thenReturn(null);
+        when(productUtility.findProductName(7)).thenReturn("Tossed Salad");
+        ConcurrentProductLookup lookup = new ConcurrentProductLookup(executor, 2, Duration.ofSeconds(5));
+
+        // WHEN
+        // We get the product names keyed by int
+        IntObjectMap<String> itemNames = lookup.findProductNamesByID(productUtility, new int[] {5, 6, 7, 5});
+
+        // THEN
+        // Each distinct item was looked up once, and only the named items are included
+        Assertions.assertAll("Checking to see if IntObjectMap is populated correctly",
+            () -> Assertions.assertEquals(Map.of(5, "Outlander", 7, "Tossed Salad"), itemNames.toMap(),
+                "Map had wrong names"),
+            () -> Assertions.assertEquals(3, lookup.getLatencyHistogram(
+                ConcurrentProductLookup.CallType.FIND_PRODUCT_NAME).getCount(), "Histogram had wrong count")
+        );
+    }
+
+    @Test
+    public void findProductNames_slowCall_omitsTimedOutProduct() {
+        // GIVEN
+        // One item whose lookup never returns in time
+        CountDownLatch release = new CountDownLatch(1);
+        when(productUtility.findProductName(5)).thenReturn("Outlander");
+        when(productUtility.findProductName(6)).thenAnswer(invocation -> {
+            release.await();
+            return "Tossed Salad";
+        });
+        ConcurrentProductLookup lookup = new ConcurrentProductLookup(executor, 2, Duration.ofMillis(50));
+
+        // WHEN
+        // We get the product names
+        Map<Integer, String> itemNames;
+        try {
+            itemNames = lookup.findProductNames(productUtility, Arrays.asList(5, 6));
+        } finally {
+            release.countDown();
+        }
+
+        // THEN
+        // The slow item is left out
+        Assertions.assertEquals(Map.of(5, "Outlander"), itemNames, "Map should only hold the fast item");
+    }
+
+    @Test
+    public void findProductNames_manyProducts_limitsCallsInFlight() {
+        // GIVEN
+        // Twenty items, tracking how many lookups run at once
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        when(productUtility.findProductName(anyInt())).thenAnswer(invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return "Item";
+        });
+        ConcurrentProductLookup lookup = new ConcurrentProductLookup(executor, 2, Duration.ofSeconds(5));
+
+        // WHEN
+        // We get the product names
+        Map<Integer, String> itemNames = lookup.findProductNames(productUtility,
+            Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20));
+
+        // THEN
+        // Every item was found without more than two lookups at once
+        Assertions.assertEquals(20, itemNames.size(), "Map was wrong size");
+        Assertions.assertTrue(mostRunning.get() <= 2, "Too many lookups ran at once: " + mostRunning.get());
+    }
+
+    @Test
+    public void findProductNames_utilityNeverReturns_laterLookupsDoNotBlock() {
+        // GIVEN
+        // A utility whose lookups never return, holding every slot
+        CountDownLatch release = new CountDownLatch(1);
+        when(productUtility.findProductName(anyInt())).thenAnswer(invocation -> {
+            release.await();
+            return "Item";
+        });
+        ConcurrentProductLookup lookup = new ConcurrentProductLookup(executor, 1, Duration.ofMillis(50));
+
+        // WHEN
+        // We make two lookups while the first call is still hung
+        Map<Integer, String> firstNames;
+        Map<Integer, String> secondNames;
+        try {
+            firstNames = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> lookup.findProductNames(productUtility, Arrays.asList(1, 2, 3)));
+            secondNames = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> lookup.findProductNames(productUtility, Arrays.asList(4, 5)));
+        } finally {
+            release.countDown();
+        }
+
+        // THEN
+        // Both lookups gave up on the hung items instead of waiting for a slot forever
+        Assertions.assertTrue(firstNames.isEmpty(), "First lookup should have no names");
+        Assertions.assertTrue(secondNames.isEmpty(), "Second lookup should have no names");
+    }
+
+    @Test
+    public void areProductsReady_concurrentLookup_omitsUnknownReadiness() {
+        // GIVEN
+        // Two items, one with unknown readiness
+        when(productUtility.isProductReady(5)).thenReturn(true);
+        when(productUtility.isProductReady(6)).thenReturn(null);
+        ConcurrentProductLookup lookup = new ConcurrentProductLookup(executor, 2, Duration.ofSeconds(5));
+
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(5, 6), lookup);
+
+        // WHEN
+        // We check readiness
+        Map<Integer, Boolean> readiness = shipment.areProductsReady();
+
+        // THEN
+        // Only the known item is included
+        Assertions.assertEquals(Map.of(5, true), readiness, "Map had wrong readiness");
+    }
+
+    @Test
+    public void constructor_zeroConcurrency_throwsIllegalArgumentException() {
+        // GIVEN
+        // A concurrency limit of zero
+        Duration callTimeout = Duration.ofSeconds(1);
+
+        // WHEN + THEN
+        // We reject the limit
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new ConcurrentProductLookup(executor, 0, callTimeout));
+    }
+}
@@ -0,0 +1,76 @@
+package com.kenzie.optionals.productinventory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class IntObjectMapTest {
+
+    @Test
+    public void put_manyKeys_getsEveryValueBack() {
+        // GIVEN
+        // More keys than the starting capacity, including negative and colliding ones
+        IntObjectMap<String> map = new IntObjectMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int key = -500; key < 500; key++) {
+            map.put(key * 1024, "Item " + key);
+            expected.put(key * 1024, "Item " + key);
+        }
+
+        // WHEN
+        // We copy the map into a HashMap
+        Map<Integer, String> copy = map.toMap();
+
+        // THEN
+        // Every entry survived the resizes
+        Assertions.assertAll("Checking to see if IntObjectMap holds every entry",
+            () -> Assertions.assertEquals(1000, map.size(), "Map was wrong size"),
+            () -> Assertions.assertEquals("Item -3", map.get(-3 * 1024), "Map had wrong value"),
+            () -> Assertions.assertEquals(expected, copy, "Map had wrong entries")
+        );
+    }
+
+    @Test
+    public void put_existingKey_replacesValue() {
+        // GIVEN
+        // A map with one entry
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(0, "Outlander");
+
+        // WHEN
+        // We put the same key again
+        String previous = map.put(0, "Tossed Salad");
+
+        // THEN
+        // The value is replaced without adding an entry
+        Assertions.assertEquals("Outlander", previous, "Wrong previous value");
+        Assertions.assertEquals("Tossed Salad", map.get(0), "Map had wrong value");
+        Assertions.assertEquals(1, map.size(), "Map was wrong size");
+    }
+
+    @Test
+    public void get_missingKey_returnsNull() {
+        // GIVEN
+        // An empty map
+        IntObjectMap<String> map = new IntObjectMap<>(16);
+
+        // WHEN + THEN
+        // Nothing is found
+        Assertions.assertNull(map.get(0), "Empty map should have no value");
+        Assertions.assertFalse(map.containsKey(0), "Empty map should have no key");
+        Assertions.assertTrue(map.isEmpty(), "Map should be empty");
+    }
+
+    @Test
+    public void put_nullValue_throwsIllegalArgumentException() {
+        // GIVEN
+        // An empty map
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        // WHEN + THEN
+        // We reject the null value
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(5, null));
+    }
+}
@@ -6,11 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
@@ -163,6 +166,151 @@ public class ProductInventoryTest {
     }
 
 
+    @Test
+    public void findProductNames_withBatchSize_makesOneCallPerBatch() {
+        // GIVEN
+        // Five items looked up two at a time, one of them without a name
+        when(productUtility.findProductNames(anyCollection())).thenAnswer(invocation -> {
+            Map<Integer, String> names = new HashMap<>();
+            for (Integer itemID : (Collection<Integer>) invocation.getArgument(0)) {
+                names.put(itemID, itemID == 3 ? "" : "Item " + itemID);
+            }
+            return names;
+        });
+
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(1, 2, 3, 4, 5), 2);
+
+        // WHEN
+        // We get the product names
+        Map<Integer, String> itemNames = shipment.findProductNames();
+
+        // THEN
+        // Three batch calls were made, no single lookups, and the unnamed item is left out
+        verify(productUtility, times(3)).findProductNames(anyCollection());
+        verify(productUtility, never()).findProductName(anyInt());
+        Assertions.assertAll("Checking to see if Map is populated correctly",
+            () -> Assertions.assertEquals(4, itemNames.size(), "Map was wrong size"),
+            () -> Assertions.assertEquals("Item 5", itemNames.get(5), "Map had wrong name"),
+            () -> Assertions.assertFalse(itemNames.containsKey(3), "Map included an unnamed item")
+        );
+    }
+
+    @Test
+    public void areProductsReady_withBatchSize_makesOneCallPerBatch() {
+        // GIVEN
+        // Three items looked up two at a time, one with unknown readiness
+        Map<Integer, Boolean> firstBatch = new HashMap<>();
+        firstBatch.put(1, true);
+        firstBatch.put(2, false);
+        when(productUtility.areProductsReady(Arrays.asList(1, 2))).thenReturn(firstBatch);
+        when(productUtility.areProductsReady(Arrays.asList(3))).thenReturn(new HashMap<>());
+
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(1, 2, 3), 2);
+
+        // WHEN
+        // We check readiness
+        Map<Integer, Boolean> readiness = shipment.areProductsReady();
+
+        // THEN
+        // Known readiness is returned without any single lookups
+        verify(productUtility, never()).isProductReady(anyInt());
+        Assertions.assertEquals(firstBatch, readiness, "Map had wrong readiness");
+    }
+
+    @Test
+    public void areProductsReady_withoutBatchSize_looksUpEachProduct() {
+        // GIVEN
+        // Two items, one ready
+        when(productUtility.isProductReady(6)).thenReturn(true);
+
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(5, 6));
+
+        // WHEN
+        // We check readiness
+        Map<Integer, Boolean> readiness = shipment.areProductsReady();
+
+        // THEN
+        // Each item was looked up on its own
+        verify(productUtility, never()).areProductsReady(anyCollection());
+        Assertions.assertEquals(true, readiness.get(6), "Item should have been ready to ship");
+        Assertions.assertEquals(false, readiness.get(5), "Item should not have been ready to ship");
+    }
+
+    @Test
+    public void constructor_nonPositiveBatchSize_throwsIllegalArgumentException() {
+        // GIVEN
+        // A batch size of zero
+        List<Integer> productIDs = Arrays.asList(5, 6);
+
+        // WHEN + THEN
+        // We reject the batch size
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new ProductInventory(productUtility, productIDs, 0));
+    }
+
+    @Test
+    public void findProductNamesByID_intProductIDs_omitsProductsWithoutNames() {
+        // GIVEN
+        // Three items given as ints, one without a name and one with an empty name
+        when(productUtility.findProductName(5)).thenReturn("Outlander");
+        when(productUtility.findProductName(6)).thenReturn(null);
+
+        ProductInventory shipment = ProductInventory.ofProductIDs(productUtility, new int[] {5, 6, 7});
+
+        // WHEN
+        // We get the product names keyed by int
+        IntObjectMap<String> itemNames = shipment.findProductNamesByID();
+
+        // THEN
+        // Only the named item is included, and the boxed map agrees
+        Assertions.assertAll("Checking to see if IntObjectMap is populated correctly",
+            () -> Assertions.assertEquals(1, itemNames.size(), "Map was wrong size"),
+            () -> Assertions.assertEquals("Outlander", itemNames.get(5), "Map had wrong name"),
+            () -> Assertions.assertEquals(shipment.findProductNames(), itemNames.toMap(), "Maps should match")
+        );
+    }
+
+    @Test
+    public void findProductNamesByID_withBatchSize_batchesNonNullIDs() {
+        // GIVEN
+        // Four items looked up two at a time, one of them with a null ID
+        when(productUtility.findProductNames(anyCollection())).thenAnswer(invocation -> {
+            Map<Integer, String> names = new HashMap<>();
+            for (Integer itemID : (Collection<Integer>) invocation.getArgument(0)) {
+                names.put(itemID, "Item " + itemID);
+            }
+            return names;
+        });
+
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(1, null, 2, 3), 2);
+
+        // WHEN
+        // We get the product names keyed by int
+        IntObjectMap<String> itemNames = shipment.findProductNamesByID();
+
+        // THEN
+        // The null ID was never sent, so the three items took two batch calls
+        verify(productUtility).findProductNames(Arrays.asList(1, 2));
+        verify(productUtility).findProductNames(Arrays.asList(3));
+        Assertions.assertAll("Checking to see if IntObjectMap is populated correctly",
+            () -> Assertions.assertEquals(3, itemNames.size(), "Map was wrong size"),
+            () -> Assertions.assertEquals("Item 2", itemNames.get(2), "Map had wrong name")
+        );
+    }
+
+    @Test
+    public void findProductNamesByID_nullProductIDs_throwsIllegalArgumentException() {
+        // GIVEN
+        // A shipment with no int IDs
+        ProductInventory shipment = ProductInventory.ofProductIDs(productUtility, null);
+
+        // WHEN + THEN
+        // We reject the missing IDs
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+            shipment::findProductNamesByID);
+        Assertions.assertEquals("productID is null", exception.getMessage(), "Exception had wrong message");
+    }
+
     //<------------------------- tests for Optionals --------------------------------->
 
     @Test
@@ -0,0 +1,138 @@
+package com.kenzie.optionals.productinventory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProductReadinessTest {
+
+    ProductUtility productUtility;
+
+    @BeforeEach
+    public void setup() {
+        productUtility = Mockito.mock(ProductUtility.class);
+        when(productUtility.isProductReady(5)).thenReturn(true);
+        when(productUtility.isProductReady(6)).thenReturn(false);
+        when(productUtility.isProductReady(7)).thenReturn(null);
+        when(productUtility.isProductReady(8)).thenReturn(true);
+    }
+
+    @Test
+    public void getReadiness_mixedReadiness_countsEachState() {
+        // GIVEN
+        // Four items: two ready, one not ready and one unknown
+        ProductInventory shipment = ProductInventory.ofProductIDs(productUtility, new int[] {5, 6, 7, 8});
+
+        // WHEN
+        // We get the readiness
+        ProductReadiness readiness = shipment.getReadiness();
+
+        // THEN
+        // Each state is counted and the shipment cannot be released
+        Assertions.assertAll("Checking to see if readiness is counted correctly",
+            () -> Assertions.assertEquals(4, readiness.size(), "Wrong size"),
+            () -> Assertions.assertEquals(2, readiness.getReadyCount(), "Wrong ready count"),
+            () -> Assertions.assertEquals(1, readiness.getNotReadyCount(), "Wrong not ready count"),
+            () -> Assertions.assertEquals(1, readiness.getUnknownCount(), "Wrong unknown count"),
+            () -> Assertions.assertFalse(readiness.isAllReady(), "Shipment should not be ready")
+        );
+    }
+
+    @Test
+    public void readyProductIDs_mixedReadiness_iteratesReadyIDsInOrder() {
+        // GIVEN
+        // Four items, two of them ready
+        ProductReadiness readiness = new ProductInventory(productUtility, Arrays.asList(5, 6, 7, 8)).getReadiness();
+
+        // WHEN
+        // We iterate over the ready items
+        PrimitiveIterator.OfInt readyIDs = readiness.readyProductIDs();
+
+        // THEN
+        // The ready items come back in shipment order, then the iterator is done
+        Assertions.assertEquals(5, readyIDs.nextInt(), "Wrong first ready item");
+        Assertions.assertEquals(8, readyIDs.nextInt(), "Wrong second ready item");
+        Assertions.assertFalse(readyIDs.hasNext(), "Iterator should be done");
+        Assertions.assertThrows(NoSuchElementException.class, readyIDs::nextInt);
+        Assertions.assertArrayEquals(new int[] {6}, toArray(readiness.notReadyProductIDs()), "Wrong not ready items");
+        Assertions.assertArrayEquals(new int[] {5, 8}, readiness.readyProductIDStream().toArray(), "Wrong stream");
+    }
+
+    @Test
+    public void getReadiness_calledTwice_looksUpOnlyOnce() {
+        // GIVEN
+        // A shipment whose readiness was already looked up
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(5, 6));
+        shipment.getReadiness();
+
+        // WHEN
+        // We get the readiness again
+        ProductReadiness readiness = shipment.getReadiness();
+
+        // THEN
+        // The earlier lookup is reused
+        verify(productUtility, times(1)).isProductReady(5);
+        Assertions.assertEquals(1, readiness.getReadyCount(), "Wrong ready count");
+    }
+
+    @Test
+    public void refreshReadiness_productBecomesReady_updatesBitmap() {
+        // GIVEN
+        // An item that becomes ready after the first lookup
+        when(productUtility.isProductReady(6)).thenReturn(false, true);
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(5, 6));
+        shipment.getReadiness();
+
+        // WHEN
+        // We refresh the readiness
+        ProductReadiness readiness = shipment.refreshReadiness();
+
+        // THEN
+        // The shipment can now be released
+        Assertions.assertTrue(readiness.isAllReady(), "Shipment should be ready");
+        Assertions.assertSame(readiness, shipment.getReadiness(), "Refreshed readiness should be kept");
+    }
+
+    @Test
+    public void refreshReadiness_withBatchSize_usesBatchLookups() {
+        // GIVEN
+        // Three items looked up two at a time
+        Map<Integer, Boolean> firstBatch = new HashMap<>();
+        firstBatch.put(5, true);
+        firstBatch.put(6, false);
+        when(productUtility.areProductsReady(Arrays.asList(5, 6))).thenReturn(firstBatch);
+        when(productUtility.areProductsReady(Arrays.asList(8))).thenReturn(Map.of(8, true));
+
+        ProductInventory shipment = new ProductInventory(productUtility, Arrays.asList(5, 6, 8), 2);
+
+        // WHEN
+        // We refresh the readiness
+        ProductReadiness readiness = shipment.refreshReadiness();
+
+        // THEN
+        // No single lookups were made
+        verify(productUtility, never()).isProductReady(anyInt());
+        Assertions.assertArrayEquals(new int[] {5, 8}, toArray(readiness.readyProductIDs()), "Wrong ready items");
+    }
+
+    private static int[] toArray(PrimitiveIterator.OfInt productIDs) {
+        IntStream.Builder values = IntStream.builder();
+        productIDs.forEachRemaining((IntConsumer) values);
+        return values.build().toArray();
+    }
+}